@@ -0,0 +1,113 @@
+package com.edutech.studify.benchmark;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares two JMH JSON result files (-rf json), e.g. the previous commit's
+ * run against this one:
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.main=com.edutech.studify.benchmark.JmhResultComparator \
+ *       -Djmh.args="baseline.json target/jmh-result.json 10"
+ *
+ * Prints score and allocation per benchmark and parameter set. A benchmark
+ * counts as a regression when it got slower by more than the threshold
+ * percentage (default 10) and by more than both runs' error margins combined;
+ * the process then exits with status 2 so CI can fail on it.
+ */
+public final class JmhResultComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <current.json> [threshold-percent]");
+            System.exit(1);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        Map<String, JsonNode> baseline = index(jsonMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = index(jsonMapper.readTree(new File(args[1])));
+
+        System.out.printf("%-80s %14s %14s %9s %12s %12s%n",
+                "Benchmark", "Baseline", "Current", "Change", "B/op before", "B/op after");
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-80s %14s %14s %9s%n", entry.getKey(), "-", score(now), "new");
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double nowScore = now.path("primaryMetric").path("score").asDouble();
+            double change = (nowScore - beforeScore) / beforeScore * 100;
+            // Lower is better for time modes, higher for throughput.
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asString());
+            double worse = higherIsBetter ? -change : change;
+            double noise = scoreError(before) + scoreError(now);
+            boolean regression = worse > thresholdPercent && Math.abs(nowScore - beforeScore) > noise;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14s %14s %+8.1f%% %12s %12s%s%n",
+                    entry.getKey(), score(before), score(now), change,
+                    allocation(before), allocation(now), regression ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream()
+                .filter(key -> !current.containsKey(key))
+                .forEach(key -> System.out.printf("%-80s %14s %14s %9s%n", key, score(baseline.get(key)), "-", "removed"));
+
+        if (regressions > 0) {
+            System.out.printf("%n%d benchmark(s) regressed by more than %.1f%%.%n", regressions, thresholdPercent);
+            System.exit(2);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            byKey.put(key(result), result);
+        }
+        return byKey;
+    }
+
+    private static String key(JsonNode result) {
+        String name = result.path("benchmark").asString().replace("com.edutech.studify.", "");
+        JsonNode params = result.path("params");
+        if (params.isMissingNode() || params.isEmpty()) {
+            return name;
+        }
+        return name + params.properties().stream()
+                .map(param -> param.getKey() + "=" + param.getValue().asString())
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    // JMH reports NaN when a run had a single measurement iteration.
+    private static double scoreError(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String score(JsonNode result) {
+        JsonNode metric = result.path("primaryMetric");
+        return String.format("%.3f %s", metric.path("score").asDouble(), metric.path("scoreUnit").asString());
+    }
+
+    private static String allocation(JsonNode result) {
+        for (Map.Entry<String, JsonNode> metric : result.path("secondaryMetrics").properties()) {
+            if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                return String.format("%.0f", metric.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+}
@@ -0,0 +1,92 @@
+package com.edutech.studify.benchmark;
+
+import com.edutech.studify.entity.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * In-memory entity graph for benchmarks: one course with {@code students}
+ * enrollments, each carrying {@code attendanceDays} attendance records and a
+ * grade. Seeded, so every fork and every commit benchmarks the same data.
+ */
+public final class UniversityFixture {
+
+    private static final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"};
+    private static final AttendanceStatus[] ATTENDANCE = AttendanceStatus.values();
+
+    private final Course course;
+    private final List<Enrollment> enrollments = new ArrayList<>();
+    private final List<Grade> grades = new ArrayList<>();
+    private final List<Attendance> attendance = new ArrayList<>();
+
+    public UniversityFixture(int students, int attendanceDays) {
+        Random random = new Random(42);
+        LocalDateTime audit = LocalDateTime.of(2025, 1, 6, 9, 0);
+
+        Department department = Department.builder().id(1L).name("Computer Science").code("CS").build();
+        Teacher teacher = Teacher.builder()
+                .id(1L).firstName("Ada").lastName("Lovelace").email("ada@studify.edu")
+                .department(department).specialization("Algorithms").build();
+        course = Course.builder()
+                .id(1L).courseCode("CS101").name("Introduction to Programming")
+                .description("Fundamentals of programming").credits(4).semester("Spring 2025")
+                .maxCapacity(students + 10).department(department).teacher(teacher).build();
+        course.setCreatedAt(audit);
+
+        for (int s = 0; s < students; s++) {
+            Student student = Student.builder()
+                    .id((long) s).firstName("Student" + s).lastName("Test").email("student" + s + "@studify.edu")
+                    .department(department).build();
+            Enrollment enrollment = Enrollment.builder()
+                    .id((long) s).student(student).course(course).enrollmentDate(LocalDate.of(2025, 1, 6))
+                    .status(random.nextInt(10) == 0 ? EnrollmentStatus.DROPPED : EnrollmentStatus.ACTIVE)
+                    .build();
+            enrollment.setCreatedAt(audit);
+
+            for (int d = 0; d < attendanceDays; d++) {
+                Attendance record = Attendance.builder()
+                        .id((long) s * attendanceDays + d).enrollment(enrollment)
+                        .date(LocalDate.of(2025, 1, 6).plusDays(d))
+                        .status(ATTENDANCE[random.nextInt(ATTENDANCE.length)]).build();
+                record.setCreatedAt(audit);
+                enrollment.getAttendanceRecords().add(record);
+                attendance.add(record);
+            }
+
+            Grade grade = Grade.builder()
+                    .id((long) s).enrollment(enrollment).remarks("Solid work")
+                    .gradedDate(LocalDate.of(2025, 5, 30)).build();
+            grade.setGradeWithPoint(randomGrade(random));
+            grade.setCreatedAt(audit);
+            enrollment.setGrade(grade);
+
+            course.getEnrollments().add(enrollment);
+            enrollments.add(enrollment);
+            grades.add(grade);
+        }
+    }
+
+    public static String randomGrade(Random random) {
+        return GRADES[random.nextInt(GRADES.length)];
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+
+    public List<Enrollment> getEnrollments() {
+        return enrollments;
+    }
+
+    public List<Grade> getGrades() {
+        return grades;
+    }
+
+    public List<Attendance> getAttendance() {
+        return attendance;
+    }
+}
@@ -0,0 +1,51 @@
+package com.edutech.studify.dto.response;
+
+import com.edutech.studify.benchmark.UniversityFixture;
+import com.edutech.studify.dto.util.DtoMapper;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a paged list response the way Spring MVC writes it (Jackson 3
+ * JsonMapper), at the default and the maximum page size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ApiResponse<PageResponse<GradeResponse>> response;
+
+    @Setup
+    public void setUp() {
+        DtoMapper dtoMapper = new DtoMapper();
+        List<GradeResponse> content = new UniversityFixture(pageSize, 0).getGrades().stream()
+                .map(dtoMapper::toGradeResponse)
+                .toList();
+        PageResponse<GradeResponse> page = PageResponse.<GradeResponse>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(pageSize)
+                .totalElements(5_000)
+                .totalPages(5_000 / pageSize)
+                .first(true)
+                .last(false)
+                .build();
+        response = ApiResponse.success(page, "Grades retrieved successfully");
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,76 @@
+package com.edutech.studify.dto.util;
+
+import com.edutech.studify.benchmark.UniversityFixture;
+import com.edutech.studify.dto.response.AttendanceResponse;
+import com.edutech.studify.dto.response.CourseResponse;
+import com.edutech.studify.dto.response.EnrollmentResponse;
+import com.edutech.studify.dto.response.GradeResponse;
+import com.edutech.studify.entity.Attendance;
+import com.edutech.studify.entity.Enrollment;
+import com.edutech.studify.entity.Grade;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DtoMapper over a whole course roster - the shape of the list endpoints.
+ * Each invocation maps every element of the graph once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMapperBenchmark {
+
+    @Param({"50", "500"})
+    private int students;
+
+    @Param({"40"})
+    private int attendanceDays;
+
+    private final DtoMapper dtoMapper = new DtoMapper();
+    private UniversityFixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = new UniversityFixture(students, attendanceDays);
+    }
+
+    @Benchmark
+    public List<GradeResponse> grades() {
+        List<GradeResponse> responses = new ArrayList<>(fixture.getGrades().size());
+        for (Grade grade : fixture.getGrades()) {
+            responses.add(dtoMapper.toGradeResponse(grade));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<AttendanceResponse> attendance() {
+        List<AttendanceResponse> responses = new ArrayList<>(fixture.getAttendance().size());
+        for (Attendance attendance : fixture.getAttendance()) {
+            responses.add(dtoMapper.toAttendanceResponse(attendance));
+        }
+        return responses;
+    }
+
+    /** Includes getAttendancePercentage over every enrollment's attendance records. */
+    @Benchmark
+    public List<EnrollmentResponse> enrollments() {
+        List<EnrollmentResponse> responses = new ArrayList<>(fixture.getEnrollments().size());
+        for (Enrollment enrollment : fixture.getEnrollments()) {
+            responses.add(dtoMapper.toEnrollmentResponse(enrollment));
+        }
+        return responses;
+    }
+
+    /** enrolledCount, availableSeats and isFull each walk the enrollment list. */
+    @Benchmark
+    public CourseResponse course() {
+        return dtoMapper.toCourseResponse(fixture.getCourse());
+    }
+}
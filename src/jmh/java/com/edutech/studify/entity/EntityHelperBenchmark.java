@@ -0,0 +1,60 @@
+package com.edutech.studify.entity;
+
+import com.edutech.studify.benchmark.UniversityFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The computed helpers on the entities. Collection sizes follow a large
+ * lecture: up to 500 enrollments per course, a 15-week term of attendance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityHelperBenchmark {
+
+    @Param({"30", "500"})
+    private int students;
+
+    @Param({"45"})
+    private int attendanceDays;
+
+    private UniversityFixture fixture;
+    private Enrollment enrollment;
+    private Grade grade;
+    private String[] letters;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        fixture = new UniversityFixture(students, attendanceDays);
+        enrollment = fixture.getEnrollments().get(0);
+        grade = new Grade();
+        Random random = new Random(7);
+        letters = new String[1024];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = UniversityFixture.randomGrade(random);
+        }
+    }
+
+    @Benchmark
+    public int courseEnrolledCount() {
+        return fixture.getCourse().getEnrolledCount();
+    }
+
+    @Benchmark
+    public double enrollmentAttendancePercentage() {
+        return enrollment.getAttendancePercentage();
+    }
+
+    @Benchmark
+    public Object gradeSetGradeWithPoint() {
+        grade.setGradeWithPoint(letters[next++ & (letters.length - 1)]);
+        return grade.getGradePoint();
+    }
+}
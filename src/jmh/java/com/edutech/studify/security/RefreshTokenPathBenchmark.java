@@ -0,0 +1,107 @@
+package com.edutech.studify.security;
+
+import com.edutech.studify.util.TokenHashUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-process part of the refresh token create / validate / revoke paths -
+ * everything RefreshTokenServiceImpl does before its single database statement.
+ * The legacy* variants keep the old per-call MessageDigest lookup for comparison;
+ * run with -prof gc to see the allocation difference.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenPathBenchmark {
+
+    private static final int STORED_TOKENS = 100_000;
+
+    private LongFingerprintSet index;
+    private String[] knownTokens;
+    private String[] unknownTokens;
+
+    @Setup
+    public void setUp() {
+        index = new LongFingerprintSet(STORED_TOKENS);
+        knownTokens = new String[1024];
+        unknownTokens = new String[1024];
+        for (int i = 0; i < STORED_TOKENS; i++) {
+            String rawToken = UUID.randomUUID().toString();
+            index.add(RefreshTokenHashIndex.fingerprint(TokenHashUtils.sha256(rawToken)));
+            if (i < knownTokens.length) {
+                knownTokens[i] = rawToken;
+            }
+        }
+        for (int i = 0; i < unknownTokens.length; i++) {
+            unknownTokens[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public void create(Blackhole blackhole) {
+        UUID rawToken = UUID.randomUUID();
+        String tokenHash = TokenHashUtils.sha256(rawToken);
+        blackhole.consume(index.contains(RefreshTokenHashIndex.fingerprint(tokenHash)));
+        blackhole.consume(tokenHash);
+        blackhole.consume(rawToken.toString());
+    }
+
+    @Benchmark
+    public void legacyCreate(Blackhole blackhole) {
+        String rawToken = UUID.randomUUID().toString();
+        String tokenHash = legacySha256(rawToken);
+        blackhole.consume(index.contains(RefreshTokenHashIndex.fingerprint(tokenHash)));
+        blackhole.consume(tokenHash);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        String tokenHash = TokenHashUtils.sha256(pick(knownTokens));
+        return index.contains(RefreshTokenHashIndex.fingerprint(tokenHash));
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        String tokenHash = legacySha256(pick(knownTokens));
+        return index.contains(RefreshTokenHashIndex.fingerprint(tokenHash));
+    }
+
+    /** Logout with a token the index has never seen - rejected without a query. */
+    @Benchmark
+    public boolean revokeUnknown() {
+        String tokenHash = TokenHashUtils.sha256(pick(unknownTokens));
+        return index.contains(RefreshTokenHashIndex.fingerprint(tokenHash));
+    }
+
+    @Benchmark
+    public boolean legacyRevokeUnknown() {
+        String tokenHash = legacySha256(pick(unknownTokens));
+        return index.contains(RefreshTokenHashIndex.fingerprint(tokenHash));
+    }
+
+    private static String pick(String[] tokens) {
+        return tokens[ThreadLocalRandom.current().nextInt(tokens.length)];
+    }
+
+    private static String legacySha256(String rawValue) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(rawValue.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
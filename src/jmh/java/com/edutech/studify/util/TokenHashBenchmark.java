@@ -0,0 +1,34 @@
+package com.edutech.studify.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenHashBenchmark {
+
+    private UUID uuid;
+    private String rawToken;
+
+    @Setup
+    public void setUp() {
+        uuid = UUID.fromString("3f2b8c1e-9a4d-4e7f-b5c6-1d2e3f4a5b6c");
+        rawToken = uuid.toString();
+    }
+
+    @Benchmark
+    public String sha256String() {
+        return TokenHashUtils.sha256(rawToken);
+    }
+
+    @Benchmark
+    public String sha256Uuid() {
+        return TokenHashUtils.sha256(uuid);
+    }
+}
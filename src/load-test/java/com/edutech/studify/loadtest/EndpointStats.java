@@ -0,0 +1,70 @@
+package com.edutech.studify.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome of the requests to one endpoint. Recording is
+ * lock-free; {@link #reset()} drops what was recorded so far, which is how
+ * the warm-up is excluded.
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final String endpoint;
+    private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    void record(int status, long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_LATENCY_NANOS));
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    /** A request that got no HTTP response at all (timeout, connection refused). */
+    void recordFailure() {
+        failures.increment();
+    }
+
+    void reset() {
+        recorder.reset();
+        statuses.clear();
+        failures.reset();
+    }
+
+    Snapshot snapshot(double seconds) {
+        Histogram histogram = recorder.getIntervalHistogram();
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(status, count.sum()));
+        long errors = failures.sum() + byStatus.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return new Snapshot(endpoint, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()), byStatus);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Snapshot(String endpoint, long requests, long errors, double throughput,
+                    double p50, double p95, double p99, double max, Map<Integer, Long> statuses) {
+    }
+}
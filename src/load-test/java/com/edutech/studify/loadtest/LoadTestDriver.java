@@ -0,0 +1,501 @@
+package com.edutech.studify.loadtest;
+
+import com.edutech.studify.StudifyApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-JVM load driver. Seeds the synthetic university if needed (see
+ * {@link SyntheticUniversityGenerator}, whose options it accepts), starts the
+ * application on a random port unless --base-url points at a running one, and
+ * replays a weighted mix of scenarios from --users concurrent virtual users:
+ *
+ * - login      - login storm: fresh logins of students (BCrypt bound)
+ * - rollcall   - a teacher marks today's attendance for a whole course
+ * - grade      - a teacher enters or changes one grade
+ * - transcript - a student reads all of their grades
+ *
+ *   mvn -Pload-test test-compile exec:exec \
+ *       -Dload-test.args="--users=100 --duration=120 --mix=login:5,rollcall:15,grade:20,transcript:60"
+ *
+ * Prints p50/p95/p99/max latency and throughput per endpoint for the
+ * measured period (the --warmup seconds are discarded) and writes the same
+ * table as CSV to --report. Options starting with spring., app., server.,
+ * logging. or management. go to the in-JVM application; its auth rate limit
+ * is off by default since every request comes from one address.
+ *
+ * --compare-profiles=default,virtual-threads runs the same mix once per
+ * Spring profile ("default" adds none), each against a freshly started
+ * application, and prints the runs side by side; the CSV then has a profile
+ * column. The data set is shared, so every run after the first starts with
+ * a warm database - use a warm-up long enough to cover that.
+ */
+@Slf4j
+public final class LoadTestDriver {
+
+    private static final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"};
+    private static final String[] ATTENDANCE = {"PRESENT", "PRESENT", "PRESENT", "PRESENT", "LATE", "ABSENT"};
+    private static final int LOGGED_ERRORS_PER_ENDPOINT = 5;
+
+    private final String baseUrl;
+    private final String password;
+    private final WorkingSet workingSet;
+    private final int users;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long thinkMillis;
+    private final Map<Scenario, Integer> mix;
+
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Map<String, String> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> loggedErrors = new ConcurrentHashMap<>();
+
+    LoadTestDriver(LoadTestOptions options, String baseUrl, WorkingSet workingSet) {
+        this.baseUrl = baseUrl;
+        this.password = options.get("password", SyntheticUniversityGenerator.DEFAULT_PASSWORD);
+        this.workingSet = workingSet;
+        this.users = options.getInt("users", 50);
+        this.warmup = Duration.ofSeconds(options.getInt("warmup", 15));
+        this.duration = Duration.ofSeconds(options.getInt("duration", 60));
+        this.thinkMillis = options.getInt("think-ms", 0);
+        this.mix = Scenario.parseMix(options.get("mix", "login:10,rollcall:20,grade:20,transcript:50"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario.endpoint, new EndpointStats(scenario.endpoint));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = new LoadTestOptions(args);
+        SyntheticUniversityGenerator generator = new SyntheticUniversityGenerator(options);
+        if (options.getBoolean("reset", false)) {
+            generator.reset();
+        }
+        if (options.getBoolean("seed", true)) {
+            generator.seed();
+        }
+        WorkingSet workingSet = WorkingSet.load(generator, options.getInt("sample-courses", 200),
+                options.getInt("sample-students", 2_000));
+
+        String report = options.get("report", "target/load-test-report.csv");
+        String profiles = options.get("compare-profiles", null);
+        if (profiles != null) {
+            if (options.has("base-url")) {
+                throw new IllegalArgumentException("--compare-profiles starts its own applications; drop --base-url");
+            }
+            Map<String, Run> runs = new LinkedHashMap<>();
+            for (String profile : profiles.split(",")) {
+                profile = profile.trim();
+                log.info("Running the mix against profile '{}'", profile);
+                runs.put(profile, runInJvm(options, workingSet, profile));
+            }
+            printComparison(runs);
+            writeComparisonCsv(runs, report);
+            return;
+        }
+
+        String baseUrl = options.get("base-url", null);
+        Run run = baseUrl != null
+                ? new LoadTestDriver(options, baseUrl, workingSet).run()
+                : runInJvm(options, workingSet, null);
+        print(run);
+        writeCsv(run, report);
+    }
+
+    /** Starts the application with the profile (null: as configured), drives it and stops it. */
+    private static Run runInJvm(LoadTestOptions options, WorkingSet workingSet, String profile)
+            throws InterruptedException {
+        // A DevTools restart would run main a second time in a new class loader.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, String> defaults = new LinkedHashMap<>(Map.of(
+                "server.port", "0",
+                "management.server.port", "0",
+                "app.security.rate-limit.enabled", "false",
+                "spring.jpa.show-sql", "false",
+                "logging.level.org.hibernate.SQL", "warn",
+                "logging.level.org.springframework.web", "warn",
+                "logging.level.com.edutech.studify", "warn",
+                "logging.level.com.edutech.studify.monitoring", "error"));
+        // "default" is Spring's own default profile name: activating it adds no profile file
+        Map<String, String> overrides = profile == null ? Map.of() : Map.of("spring.profiles.active", profile);
+        try (ConfigurableApplicationContext application = SpringApplication.run(StudifyApplication.class,
+                options.applicationArgs(defaults, overrides))) {
+            String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            return new LoadTestDriver(options, baseUrl, workingSet).run();
+        }
+    }
+
+    Run run() throws InterruptedException {
+        log.info("Driving {} with {} users for {} s after a {} s warm-up, mix {}",
+                baseUrl, users, duration.toSeconds(), warmup.toSeconds(), mix);
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        for (int user = 0; user < users; user++) {
+            SplittableRandom random = new SplittableRandom(user);
+            executor.submit(() -> {
+                while (System.nanoTime() < end) {
+                    execute(pick(random.nextInt(totalWeight)), random);
+                    if (thinkMillis > 0) {
+                        Thread.sleep(thinkMillis);
+                    }
+                }
+                return null;
+            });
+        }
+
+        TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+        stats.values().forEach(EndpointStats::reset);
+        long measuredStart = System.nanoTime();
+        executor.shutdown();
+        executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - measuredStart) / 1_000_000_000.0;
+
+        List<EndpointStats.Snapshot> snapshots = new ArrayList<>();
+        stats.values().forEach(endpoint -> snapshots.add(endpoint.snapshot(seconds)));
+        return new Run(snapshots, seconds);
+    }
+
+    private Scenario pick(int roll) {
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty scenario mix");
+    }
+
+    private void execute(Scenario scenario, SplittableRandom random) {
+        switch (scenario) {
+            case LOGIN -> {
+                String email = workingSet.loginEmails().get(random.nextInt(workingSet.loginEmails().size()));
+                send(scenario, null, post("/api/auth/login", loginBody(email), null));
+            }
+            case ROLL_CALL -> {
+                CourseRoster course = workingSet.courses().get(random.nextInt(workingSet.courses().size()));
+                List<Map<String, Object>> records = new ArrayList<>();
+                for (long enrollmentId : course.enrollmentIds()) {
+                    records.add(Map.of("enrollmentId", enrollmentId,
+                            "status", ATTENDANCE[random.nextInt(ATTENDANCE.length)]));
+                }
+                Map<String, Object> body = Map.of(
+                        "courseId", course.courseId(),
+                        "date", LocalDate.now().toString(),
+                        "attendanceRecords", records);
+                authenticated(scenario, course.teacherEmail(), token -> post("/api/v1/attendance", body, token));
+            }
+            case GRADE_ENTRY -> {
+                CourseRoster course = workingSet.courses().get(random.nextInt(workingSet.courses().size()));
+                long enrollmentId = course.enrollmentIds()[random.nextInt(course.enrollmentIds().length)];
+                Map<String, Object> body = Map.of(
+                        "enrollmentId", enrollmentId,
+                        "grade", GRADES[random.nextInt(GRADES.length)],
+                        "remarks", "Entered by the load test");
+                authenticated(scenario, course.teacherEmail(), token -> post("/api/v1/grades", body, token));
+            }
+            case TRANSCRIPT -> {
+                StudentAccount student = workingSet.students().get(random.nextInt(workingSet.students().size()));
+                authenticated(scenario, student.email(), token -> HttpRequest.newBuilder()
+                        .uri(URI.create(baseUrl + "/api/v1/grades/student/" + student.studentId() + "/all"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build());
+            }
+        }
+    }
+
+    /** Sends as {@code email}, logging in first (unmeasured) if there is no token yet. */
+    private void authenticated(Scenario scenario, String email, Function<String, HttpRequest> request) {
+        String token = accessTokens.get(email);
+        if (token == null) {
+            token = login(email);
+            if (token == null) {
+                stats.get(scenario.endpoint).recordFailure();
+                return;
+            }
+            accessTokens.put(email, token);
+        }
+        int status = send(scenario, email, request.apply(token));
+        if (status == 401) {
+            accessTokens.remove(email);
+        }
+    }
+
+    private String login(String email) {
+        try {
+            HttpResponse<String> response = httpClient.send(post("/api/auth/login", loginBody(email), null),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logError(Scenario.LOGIN.endpoint + " (setup)", response.statusCode(), response.body());
+                return null;
+            }
+            return jsonMapper.readTree(response.body()).path("data").path("token").asString();
+        } catch (IOException e) {
+            logError(Scenario.LOGIN.endpoint + " (setup)", -1, e.toString());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private int send(Scenario scenario, String email, HttpRequest request) {
+        EndpointStats endpoint = stats.get(scenario.endpoint);
+        long started = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            endpoint.record(response.statusCode(), System.nanoTime() - started);
+            if (response.statusCode() >= 400) {
+                logError(scenario.endpoint, response.statusCode(), response.body());
+            }
+            return response.statusCode();
+        } catch (IOException e) {
+            endpoint.recordFailure();
+            logError(scenario.endpoint, -1, e.toString());
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private void logError(String endpoint, int status, String detail) {
+        if (loggedErrors.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet() <= LOGGED_ERRORS_PER_ENDPOINT) {
+            log.warn("{} failed with {}: {}", endpoint, status, detail.length() > 300 ? detail.substring(0, 300) : detail);
+        }
+    }
+
+    private HttpRequest post(String path, Object body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private Map<String, Object> loginBody(String email) {
+        return Map.of("email", email, "password", password, "terminateOtherSessions", false);
+    }
+
+    private static void print(Run run) {
+        List<EndpointStats.Snapshot> snapshots = run.snapshots();
+        double seconds = run.seconds();
+        System.out.printf("%nMeasured %.1f s%n", seconds);
+        System.out.printf("%-42s %10s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long requests = 0;
+        for (EndpointStats.Snapshot s : snapshots) {
+            System.out.printf("%-42s %10d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+            requests += s.requests();
+        }
+        System.out.printf("%-42s %10d %8s %9.1f%n", "Total", requests, "", requests / seconds);
+        for (EndpointStats.Snapshot s : snapshots) {
+            if (s.errors() > 0) {
+                System.out.printf("%s responses by status: %s%n", s.endpoint(), s.statuses());
+            }
+        }
+    }
+
+    /** One row per endpoint, the profiles next to each other. */
+    private static void printComparison(Map<String, Run> runs) {
+        System.out.printf("%n%-42s %-16s %10s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Profile", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        List<String> endpoints = runs.values().iterator().next().snapshots().stream()
+                .map(EndpointStats.Snapshot::endpoint)
+                .toList();
+        for (int i = 0; i < endpoints.size(); i++) {
+            for (Map.Entry<String, Run> run : runs.entrySet()) {
+                EndpointStats.Snapshot s = run.getValue().snapshots().get(i);
+                System.out.printf("%-42s %-16s %10d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                        endpoints.get(i), run.getKey(), s.requests(), s.errors(), s.throughput(),
+                        s.p50(), s.p95(), s.p99(), s.max());
+            }
+        }
+        for (Map.Entry<String, Run> run : runs.entrySet()) {
+            long requests = run.getValue().snapshots().stream().mapToLong(EndpointStats.Snapshot::requests).sum();
+            System.out.printf("%-42s %-16s %10d %8s %9.1f%n",
+                    "Total", run.getKey(), requests, "", requests / run.getValue().seconds());
+        }
+    }
+
+    private static void writeCsv(Run run, String report) throws IOException {
+        try (PrintWriter writer = csvWriter(report)) {
+            writer.println("endpoint,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+            for (EndpointStats.Snapshot s : run.snapshots()) {
+                writer.printf("\"%s\",%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n",
+                        s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+            }
+        }
+        log.info("Wrote {}", Path.of(report).toAbsolutePath());
+    }
+
+    private static void writeComparisonCsv(Map<String, Run> runs, String report) throws IOException {
+        try (PrintWriter writer = csvWriter(report)) {
+            writer.println("profile,endpoint,requests,errors,throughput,p50_ms,p95_ms,p99_ms,max_ms");
+            runs.forEach((profile, run) -> {
+                for (EndpointStats.Snapshot s : run.snapshots()) {
+                    writer.printf("\"%s\",\"%s\",%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f%n", profile,
+                            s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+                }
+            });
+        }
+        log.info("Wrote {}", Path.of(report).toAbsolutePath());
+    }
+
+    private static PrintWriter csvWriter(String report) throws IOException {
+        Path path = Path.of(report);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        return new PrintWriter(Files.newBufferedWriter(path));
+    }
+
+    record Run(List<EndpointStats.Snapshot> snapshots, double seconds) {
+    }
+
+    enum Scenario {
+        LOGIN("login", "POST /api/auth/login"),
+        ROLL_CALL("rollcall", "POST /api/v1/attendance"),
+        GRADE_ENTRY("grade", "POST /api/v1/grades"),
+        TRANSCRIPT("transcript", "GET /api/v1/grades/student/{id}/all");
+
+        private final String key;
+        private final String endpoint;
+
+        Scenario(String key, String endpoint) {
+            this.key = key;
+            this.endpoint = endpoint;
+        }
+
+        /** Parses "login:10,rollcall:20", keeping declaration order. */
+        static Map<Scenario, Integer> parseMix(String mix) {
+            Map<Scenario, Integer> weights = new LinkedHashMap<>();
+            for (String part : mix.split(",")) {
+                String[] keyAndWeight = part.trim().split(":");
+                Scenario scenario = null;
+                for (Scenario candidate : values()) {
+                    if (candidate.key.equals(keyAndWeight[0])) {
+                        scenario = candidate;
+                    }
+                }
+                if (scenario == null || keyAndWeight.length != 2) {
+                    throw new IllegalArgumentException("Bad mix entry '" + part + "', expected e.g. login:10");
+                }
+                int weight = Integer.parseInt(keyAndWeight[1]);
+                if (weight > 0) {
+                    weights.put(scenario, weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("The scenario mix has no positive weight: " + mix);
+            }
+            return weights;
+        }
+    }
+
+    record CourseRoster(long courseId, String teacherEmail, long[] enrollmentIds) {
+    }
+
+    record StudentAccount(long studentId, String email) {
+    }
+
+    /**
+     * The generated accounts the scenarios act as, sampled from the database
+     * so the driver also works against a data set seeded by an earlier run.
+     * Students reading transcripts and students in the login storm are kept
+     * apart so storm logins do not evict the readers' sessions.
+     */
+    record WorkingSet(List<CourseRoster> courses, List<StudentAccount> students, List<String> loginEmails) {
+
+        static WorkingSet load(SyntheticUniversityGenerator generator, int sampleCourses, int sampleStudents)
+                throws SQLException {
+            List<CourseRoster> courses = new ArrayList<>();
+            List<StudentAccount> students = new ArrayList<>();
+            List<String> loginEmails = new ArrayList<>();
+            try (Connection connection = generator.connect();
+                 PreparedStatement courseQuery = connection.prepareStatement(
+                         "select c.id, u.email from courses c join teachers t on t.id = c.teacher_id"
+                                 + " join users u on u.id = t.user_id where u.email like ? order by random() limit ?");
+                 PreparedStatement rosterQuery = connection.prepareStatement(
+                         "select id from enrollments where course_id = ? and status = 'ACTIVE' order by id");
+                 PreparedStatement studentQuery = connection.prepareStatement(
+                         "select s.id, u.email from students s join users u on u.id = s.user_id"
+                                 + " where u.email like ? order by random() limit ?")) {
+                courseQuery.setString(1, "%@" + SyntheticUniversityGenerator.EMAIL_DOMAIN);
+                courseQuery.setInt(2, sampleCourses);
+                try (ResultSet rs = courseQuery.executeQuery()) {
+                    while (rs.next()) {
+                        rosterQuery.setLong(1, rs.getLong(1));
+                        List<Long> roster = new ArrayList<>();
+                        try (ResultSet enrollments = rosterQuery.executeQuery()) {
+                            while (enrollments.next()) {
+                                roster.add(enrollments.getLong(1));
+                            }
+                        }
+                        if (!roster.isEmpty()) {
+                            courses.add(new CourseRoster(rs.getLong(1), rs.getString(2),
+                                    roster.stream().mapToLong(Long::longValue).toArray()));
+                        }
+                    }
+                }
+                studentQuery.setString(1, "%@" + SyntheticUniversityGenerator.EMAIL_DOMAIN);
+                studentQuery.setInt(2, sampleStudents * 2);
+                try (ResultSet rs = studentQuery.executeQuery()) {
+                    while (rs.next()) {
+                        if (rs.getRow() % 2 == 0) {
+                            students.add(new StudentAccount(rs.getLong(1), rs.getString(2)));
+                        } else {
+                            loginEmails.add(rs.getString(2));
+                        }
+                    }
+                }
+            }
+            if (courses.isEmpty() || students.isEmpty() || loginEmails.isEmpty()) {
+                throw new IllegalStateException("No generated data found; run with --seed=true");
+            }
+            log.info("Working set: {} courses, {} transcript readers, {} login storm accounts",
+                    courses.size(), students.size(), loginEmails.size());
+            return new WorkingSet(courses, students, loginEmails);
+        }
+    }
+}
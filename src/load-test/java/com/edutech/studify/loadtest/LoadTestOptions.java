@@ -0,0 +1,67 @@
+package com.edutech.studify.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * --key=value command line options for the load-test tools. Options whose
+ * key starts with one of the application prefixes (spring., app., server.,
+ * logging.) are not read here but passed on to the in-JVM application.
+ */
+final class LoadTestOptions {
+
+    private static final List<String> APPLICATION_PREFIXES = List.of("spring.", "app.", "server.", "logging.", "management.");
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+    private final Map<String, String> applicationOptions = new LinkedHashMap<>();
+
+    LoadTestOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            String key = separator < 0 ? arg.substring(2) : arg.substring(2, separator);
+            String value = separator < 0 ? "true" : arg.substring(separator + 1);
+            boolean forApplication = APPLICATION_PREFIXES.stream().anyMatch(key::startsWith);
+            (forApplication ? applicationOptions : options).put(key, value);
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return options.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    double getDouble(String key, double defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        String value = options.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    boolean has(String key) {
+        return options.containsKey(key);
+    }
+
+    /**
+     * Application options as Spring command line arguments: the defaults,
+     * then the options given on the command line, then the overrides.
+     */
+    String[] applicationArgs(Map<String, String> defaults, Map<String, String> overrides) {
+        Map<String, String> merged = new LinkedHashMap<>(defaults);
+        merged.putAll(applicationOptions);
+        merged.putAll(overrides);
+        return merged.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,391 @@
+package com.edutech.studify.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds a synthetic university straight through JDBC batches, bypassing JPA:
+ * departments, teachers, courses, students, enrollments, grades and a full
+ * term of attendance. Sizes default to a mid-sized university (100k students,
+ * ~15M attendance rows) and are all configurable:
+ *
+ *   mvn -Pload-test test-compile exec:exec \
+ *       -Dload-test.main=com.edutech.studify.loadtest.SyntheticUniversityGenerator \
+ *       -Dload-test.args="--students=20000 --teachers=400 --courses=800"
+ *
+ * Generated users share the password from --password and an email under
+ * {@value #EMAIL_DOMAIN}; --reset removes everything the generator created
+ * before seeding afresh, and --reset --seed=false only cleans up.
+ * Seeding is skipped when generated data is already present, so repeated load
+ * runs reuse one data set. The schema must exist, i.e. the application has
+ * started against the database at least once.
+ */
+@Slf4j
+public final class SyntheticUniversityGenerator {
+
+    static final String EMAIL_DOMAIN = "load.studify.test";
+    static final String DEFAULT_PASSWORD = "LoadTest#2025";
+
+    private static final String AUDIT_USER = "load-test";
+    private static final String CODE_PREFIX = "LT";
+    private static final String[] GRADES = {"A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F"};
+    private static final String[] GRADE_POINTS = {"4.0", "3.7", "3.5", "3.25", "3.0", "2.75", "2.5", "2.25", "2.00", "0.0"};
+    private static final String[] ATTENDANCE = {"PRESENT", "PRESENT", "PRESENT", "PRESENT", "PRESENT", "PRESENT", "PRESENT", "LATE", "ABSENT", "ABSENT"};
+
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final String userPassword;
+    private final int departments;
+    private final int teachers;
+    private final int courses;
+    private final int students;
+    private final int enrollmentsPerStudent;
+    private final int termWeeks;
+    private final int sessionsPerWeek;
+    private final double gradedRatio;
+    private final double droppedRatio;
+    private final int batchSize;
+    private final long seed;
+
+    SyntheticUniversityGenerator(LoadTestOptions options) {
+        this.jdbcUrl = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/studify_db");
+        this.username = options.get("jdbc-user", "postgres");
+        this.password = options.get("jdbc-password", "postgres");
+        this.userPassword = options.get("password", DEFAULT_PASSWORD);
+        this.departments = options.getInt("departments", 20);
+        this.teachers = options.getInt("teachers", 2_000);
+        this.courses = options.getInt("courses", 4_000);
+        this.students = options.getInt("students", 100_000);
+        this.enrollmentsPerStudent = Math.min(options.getInt("enrollments-per-student", 5), courses);
+        this.termWeeks = options.getInt("term-weeks", 15);
+        this.sessionsPerWeek = Math.min(options.getInt("sessions-per-week", 2), 5);
+        this.gradedRatio = options.getDouble("graded-ratio", 0.5);
+        this.droppedRatio = options.getDouble("dropped-ratio", 0.03);
+        this.batchSize = options.getInt("batch-size", 5_000);
+        this.seed = options.getInt("random-seed", 42);
+    }
+
+    public static void main(String[] args) throws SQLException {
+        LoadTestOptions options = new LoadTestOptions(args);
+        SyntheticUniversityGenerator generator = new SyntheticUniversityGenerator(options);
+        if (options.getBoolean("reset", false)) {
+            generator.reset();
+        }
+        if (options.getBoolean("seed", true)) {
+            generator.seed();
+        }
+    }
+
+    Connection connect() throws SQLException {
+        // Lets the driver rewrite each batch into multi-row inserts.
+        String url = jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        Connection connection = DriverManager.getConnection(url, username, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    /** Seeds the data set unless a previous run already did. */
+    void seed() throws SQLException {
+        try (Connection connection = connect()) {
+            long existing = countGeneratedUsers(connection);
+            if (existing > 0) {
+                log.info("Found {} generated users, reusing the existing data set (--reset to regenerate)", existing);
+                return;
+            }
+            long started = System.nanoTime();
+            generate(connection);
+            log.info("Seeded the synthetic university in {} s", (System.nanoTime() - started) / 1_000_000_000);
+        }
+    }
+
+    /** Deletes everything a previous run generated, children first. */
+    void reset() throws SQLException {
+        String generatedUsers = "select id from users where email like '%@" + EMAIL_DOMAIN + "'";
+        String generatedEnrollments = "select e.id from enrollments e join students s on s.id = e.student_id"
+                + " where s.user_id in (" + generatedUsers + ")";
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            execute(statement, "delete from attendance where enrollment_id in (" + generatedEnrollments + ")");
+            execute(statement, "delete from grades where enrollment_id in (" + generatedEnrollments + ")");
+            execute(statement, "delete from enrollments where id in (" + generatedEnrollments + ")");
+            execute(statement, "delete from courses where course_code like '" + CODE_PREFIX + "%'"
+                    + " and department_id in (select id from departments where code like '" + CODE_PREFIX + "%')");
+            execute(statement, "delete from students where user_id in (" + generatedUsers + ")");
+            execute(statement, "delete from teachers where user_id in (" + generatedUsers + ")");
+            execute(statement, "delete from refresh_tokens where user_id in (" + generatedUsers + ")");
+            execute(statement, "delete from token_revocations where user_id in (" + generatedUsers + ")");
+            execute(statement, "delete from users where id in (" + generatedUsers + ")");
+            execute(statement, "delete from departments where code like '" + CODE_PREFIX + "%'");
+            connection.commit();
+        }
+    }
+
+    private void generate(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        // BCrypt is deliberately slow; every generated user gets the same hash.
+        String passwordHash = new BCryptPasswordEncoder().encode(userPassword);
+        LocalDate termStart = LocalDate.now()
+                .minusWeeks(termWeeks)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        long userBase = nextId(connection, "users");
+        long departmentBase = nextId(connection, "departments");
+        long teacherBase = nextId(connection, "teachers");
+        long courseBase = nextId(connection, "courses");
+        long studentBase = nextId(connection, "students");
+        long enrollmentBase = nextId(connection, "enrollments");
+        long gradeBase = nextId(connection, "grades");
+        long attendanceBase = nextId(connection, "attendance");
+        long studentUserBase = userBase + teachers;
+
+        insert(connection, "users", teachers + students,
+                "insert into users (id, username, email, password, role, is_active, created_at, updated_at, created_by, updated_by)"
+                        + " values (?, ?, ?, ?, ?, true, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    boolean teacher = i < teachers;
+                    long n = teacher ? i : i - teachers;
+                    ps.setLong(1, userBase + i);
+                    ps.setString(2, (teacher ? "lt_teacher" : "lt_student") + n);
+                    ps.setString(3, email(teacher, n));
+                    ps.setString(4, passwordHash);
+                    ps.setString(5, teacher ? "TEACHER" : "STUDENT");
+                    audit(ps, 6, now);
+                });
+
+        insert(connection, "departments", departments,
+                "insert into departments (id, name, code, created_at, updated_at, created_by, updated_by)"
+                        + " values (?, ?, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    ps.setLong(1, departmentBase + i);
+                    ps.setString(2, "Load Test Department " + i);
+                    ps.setString(3, CODE_PREFIX + "D" + i);
+                    audit(ps, 4, now);
+                });
+
+        insert(connection, "teachers", teachers,
+                "insert into teachers (id, user_id, first_name, last_name, email, phone, specialization, department_id,"
+                        + " deleted, created_at, updated_at, created_by, updated_by)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    ps.setLong(1, teacherBase + i);
+                    ps.setLong(2, userBase + i);
+                    ps.setString(3, "Teacher");
+                    ps.setString(4, "T" + i);
+                    ps.setString(5, email(true, i));
+                    ps.setString(6, phone(i));
+                    ps.setString(7, "Specialization " + (i % 50));
+                    ps.setLong(8, departmentBase + i % departments);
+                    audit(ps, 9, now);
+                });
+
+        // Each student takes one course from each of enrollmentsPerStudent
+        // equal slices of the catalogue, which spreads enrollments evenly.
+        int perCourse = enrollmentsPerStudent * (students / courses + 1);
+        insert(connection, "courses", courses,
+                "insert into courses (id, course_code, name, description, credits, semester, max_capacity, department_id,"
+                        + " teacher_id, created_at, updated_at, created_by, updated_by)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    ps.setLong(1, courseBase + i);
+                    ps.setString(2, String.format("%s%05d", CODE_PREFIX, i));
+                    ps.setString(3, "Load Test Course " + i);
+                    ps.setString(4, "Synthetic course for load testing");
+                    ps.setInt(5, 1 + (int) (i % 4));
+                    ps.setString(6, "Load Term");
+                    ps.setInt(7, perCourse + 10);
+                    ps.setLong(8, departmentBase + i % departments);
+                    ps.setLong(9, teacherBase + i % teachers);
+                    audit(ps, 10, now);
+                });
+
+        insert(connection, "students", students,
+                "insert into students (id, user_id, first_name, last_name, email, phone, address, date_of_birth,"
+                        + " enrollment_date, status, department_id, deleted, created_at, updated_at, created_by, updated_by)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, 'ACTIVE', ?, false, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    ps.setLong(1, studentBase + i);
+                    ps.setLong(2, studentUserBase + i);
+                    ps.setString(3, "Student");
+                    ps.setString(4, "S" + i);
+                    ps.setString(5, email(false, i));
+                    ps.setString(6, phone(teachers + i));
+                    ps.setString(7, i + " Campus Road");
+                    ps.setDate(8, Date.valueOf(LocalDate.of(2000, 1, 1).plusDays(i % 2_000)));
+                    ps.setDate(9, Date.valueOf(termStart));
+                    ps.setLong(10, departmentBase + i % departments);
+                    audit(ps, 11, now);
+                });
+
+        long enrollments = (long) students * enrollmentsPerStudent;
+        boolean[] dropped = new boolean[(int) enrollments];
+        insert(connection, "enrollments", enrollments,
+                "insert into enrollments (id, student_id, course_id, enrollment_date, status, created_at, updated_at,"
+                        + " created_by, updated_by) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    dropped[(int) i] = random.nextDouble() < droppedRatio;
+                    ps.setLong(1, enrollmentBase + i);
+                    ps.setLong(2, studentBase + i / enrollmentsPerStudent);
+                    ps.setLong(3, courseBase + courseIndex(i));
+                    ps.setDate(4, Date.valueOf(termStart));
+                    ps.setString(5, dropped[(int) i] ? "DROPPED" : "ACTIVE");
+                    audit(ps, 6, now);
+                });
+
+        long[] gradeId = {gradeBase};
+        insertFiltered(connection, "grades", enrollments,
+                "insert into grades (id, enrollment_id, grade, grade_point, graded_date, created_at, updated_at,"
+                        + " created_by, updated_by) values (?, ?, ?, ?::numeric, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    if (dropped[(int) i] || random.nextDouble() >= gradedRatio) {
+                        return false;
+                    }
+                    int grade = random.nextInt(GRADES.length);
+                    ps.setLong(1, gradeId[0]++);
+                    ps.setLong(2, enrollmentBase + i);
+                    ps.setString(3, GRADES[grade]);
+                    ps.setString(4, GRADE_POINTS[grade]);
+                    ps.setDate(5, Date.valueOf(termStart.plusWeeks(termWeeks).minusDays(1)));
+                    audit(ps, 6, now);
+                    return true;
+                });
+
+        // Each course meets sessionsPerWeek times a week on distinct weekdays.
+        int sessionsPerEnrollment = termWeeks * sessionsPerWeek;
+        insert(connection, "attendance", enrollments * sessionsPerEnrollment,
+                "insert into attendance (id, enrollment_id, date, status, created_at, updated_at, created_by, updated_by)"
+                        + " values (?, ?, ?, ?, ?, ?, ?, ?)",
+                (ps, i) -> {
+                    long enrollment = i / sessionsPerEnrollment;
+                    int session = (int) (i % sessionsPerEnrollment);
+                    int week = session / sessionsPerWeek;
+                    int weekday = (int) ((courseIndex(enrollment) + (session % sessionsPerWeek) * 2L) % 5);
+                    ps.setLong(1, attendanceBase + i);
+                    ps.setLong(2, enrollmentBase + enrollment);
+                    ps.setDate(3, Date.valueOf(termStart.plusWeeks(week).plusDays(weekday)));
+                    ps.setString(4, ATTENDANCE[random.nextInt(ATTENDANCE.length)]);
+                    audit(ps, 5, now);
+                });
+
+        for (String table : new String[] {"users", "departments", "teachers", "courses", "students", "enrollments", "grades", "attendance"}) {
+            resetSequence(connection, table);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+        connection.commit();
+    }
+
+    private long courseIndex(long enrollment) {
+        long student = enrollment / enrollmentsPerStudent;
+        long slice = enrollment % enrollmentsPerStudent;
+        return (student + slice * (courses / enrollmentsPerStudent)) % courses;
+    }
+
+    private long countGeneratedUsers(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("select count(*) from users where email like ?")) {
+            ps.setString(1, "%@" + EMAIL_DOMAIN);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /** Moves the identity sequence past the explicitly inserted ids. */
+    private static void resetSequence(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'),"
+                    + " (select coalesce(max(id), 1) from " + table + "))");
+        }
+    }
+
+    private void insert(Connection connection, String table, long rows, String sql, RowBinder binder)
+            throws SQLException {
+        insertFiltered(connection, table, rows, sql, (ps, i) -> {
+            binder.bind(ps, i);
+            return true;
+        });
+    }
+
+    /** Inserts in batches of batchSize, committing after each batch. */
+    private void insertFiltered(Connection connection, String table, long rows, String sql,
+                                FilteringRowBinder binder) throws SQLException {
+        long started = System.nanoTime();
+        long inserted = 0;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (long i = 0; i < rows; i++) {
+                if (!binder.bind(ps, i)) {
+                    continue;
+                }
+                ps.addBatch();
+                inserted++;
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    connection.commit();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+                connection.commit();
+            }
+        }
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("Inserted {} rows into {} in {} ms ({} rows/s)", inserted, table, millis, inserted * 1000 / millis);
+    }
+
+    private static void audit(PreparedStatement ps, int index, Timestamp now) throws SQLException {
+        ps.setTimestamp(index, now);
+        ps.setTimestamp(index + 1, now);
+        ps.setString(index + 2, AUDIT_USER);
+        ps.setString(index + 3, AUDIT_USER);
+    }
+
+    static String email(boolean teacher, long n) {
+        return (teacher ? "teacher" : "student") + n + "@" + EMAIL_DOMAIN;
+    }
+
+    private static String phone(long n) {
+        return String.format("+1555%07d", n);
+    }
+
+    private static void execute(Statement statement, String sql) throws SQLException {
+        int rows = statement.executeUpdate(sql);
+        log.info("{} row(s): {}", rows, sql.length() > 80 ? sql.substring(0, 80) + "..." : sql);
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, long index) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface FilteringRowBinder {
+        /** Binds row {@code index}, or returns false to skip it. */
+        boolean bind(PreparedStatement ps, long index) throws SQLException;
+    }
+}
@@ -0,0 +1,186 @@
+package com.edutech.studify.batch;
+
+import com.edutech.studify.dto.request.BatchRequest;
+import com.edutech.studify.dto.response.ApiResponse;
+import com.edutech.studify.dto.response.BatchResponse;
+import com.edutech.studify.exception.BadRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the GETs of a batch through the DispatcherServlet, in parallel, under
+ * the batch request's already authenticated SecurityContext. The servlet
+ * filter chain is not re-entered, so the JWT is parsed and the user loaded
+ * once per batch; handlers, @PreAuthorize and the service-level ownership
+ * checks run exactly as they would for a standalone request.
+ *
+ * Each item still gets its own read-only transaction: a persistence context
+ * belongs to one thread, so items running side by side cannot share one.
+ * Parallelism is capped well below the connection pool size so a batch cannot
+ * take every connection. SQL run by the items is not counted against the
+ * batch request's SQL budget, as it runs on other threads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BatchDispatcher {
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String BATCH_PATH = "/api/v1/batch";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.batch.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.batch.timeout-ms:10000}")
+    private long timeoutMs;
+
+    // How long a cancelled batch waits for its items to stop
+    @Value("${app.batch.cancel-grace-ms:5000}")
+    private long cancelGraceMs;
+
+    public List<BatchResponse.Result> dispatch(List<BatchRequest.Item> items,
+                                               HttpServletRequest request,
+                                               HttpServletResponse response) {
+        List<UriComponents> uris = items.stream()
+                .map(item -> parsePath(item.getPath()))
+                .collect(Collectors.toList());
+        SubRequest.Origin origin = SubRequest.capture(request);
+
+        ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                Executors.newFixedThreadPool(Math.min(parallelism, items.size()),
+                        Thread.ofVirtual().name("batch-", 0).factory()),
+                SecurityContextHolder.getContext());
+        try {
+            List<Future<BatchResponse.Result>> futures = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                String id = items.get(i).getId();
+                SubRequest subRequest = new SubRequest(request, uris.get(i), origin);
+                futures.add(executor.submit(() -> run(id, subRequest, new BufferedSubResponse(response))));
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            List<BatchResponse.Result> results = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                results.add(await(items.get(i), futures.get(i), deadline));
+            }
+            return results;
+        } finally {
+            stop(executor);
+        }
+    }
+
+    /**
+     * Interrupts items that are still running and waits for them to unwind, so
+     * none is left inside the DispatcherServlet, holding a connection, after the
+     * batch response has gone out.
+     */
+    private void stop(ExecutorService executor) {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(cancelGraceMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Batch items still running {} ms after being cancelled", cancelGraceMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private UriComponents parsePath(String path) {
+        String decodedPath;
+        UriComponents uri;
+        try {
+            uri = UriComponentsBuilder.fromUriString(path).build();
+            decodedPath = UriUtils.decode(uri.getPath() == null ? "" : uri.getPath(), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid batch path: " + path);
+        }
+        if (uri.getScheme() != null || uri.getHost() != null || uri.getFragment() != null
+                || !decodedPath.startsWith(API_PREFIX)
+                || decodedPath.contains("..") || decodedPath.contains("//")
+                || decodedPath.contains(";") || decodedPath.contains("\\")) {
+            throw new BadRequestException("Batch paths must be API paths under " + API_PREFIX + ": " + path);
+        }
+        if (decodedPath.equals(BATCH_PATH) || decodedPath.startsWith(BATCH_PATH + "/")) {
+            throw new BadRequestException("Batches cannot be nested");
+        }
+        return uri;
+    }
+
+    private BatchResponse.Result run(String id, SubRequest request, BufferedSubResponse response) {
+        try {
+            dispatcherServlet.service(request, response);
+        } catch (Exception e) {
+            log.error("Batch request {} failed: {}", id, request.getRequestURI(), e);
+            return error(id, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        }
+        return BatchResponse.Result.builder()
+                .id(id)
+                .status(response.getStatus())
+                .body(asJson(response))
+                .build();
+    }
+
+    private BatchResponse.Result await(BatchRequest.Item item, Future<BatchResponse.Result> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Batch request {} timed out: {}", item.getId(), item.getPath());
+            return error(item.getId(), HttpStatus.GATEWAY_TIMEOUT, "Request timed out");
+        } catch (ExecutionException e) {
+            log.error("Batch request {} failed: {}", item.getId(), item.getPath(), e.getCause());
+            return error(item.getId(), HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(item.getId(), HttpStatus.SERVICE_UNAVAILABLE, "Request was interrupted");
+        }
+    }
+
+    // Embedded as-is when the endpoint wrote JSON, as a JSON string otherwise
+    private String asJson(BufferedSubResponse response) {
+        String body = response.getBodyAsString();
+        if (body.isEmpty()) {
+            return null;
+        }
+        String contentType = response.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return body;
+        }
+        return jsonMapper.writeValueAsString(body);
+    }
+
+    private BatchResponse.Result error(String id, HttpStatus status, String message) {
+        return BatchResponse.Result.builder()
+                .id(id)
+                .status(status.value())
+                .body(jsonMapper.writeValueAsString(ApiResponse.error(message)))
+                .build();
+    }
+}
@@ -0,0 +1,448 @@
+package com.edutech.studify.batch;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.*;
+
+/**
+ * A GET for one batch item, presented to the DispatcherServlet as if it had
+ * arrived on its own. Path, query and attributes are its own; headers and
+ * connection details are an {@link Origin} snapshot of the batch request's,
+ * taken before the batch fans out. Worker threads never touch the container's
+ * request object, which is recycled once the batch response is sent - possibly
+ * while a timed-out item is still unwinding.
+ */
+class SubRequest extends HttpServletRequestWrapper {
+
+    // Not forwarded: they describe the batch POST, not the sub-request
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.IF_NONE_MATCH.toLowerCase(), HttpHeaders.IF_MODIFIED_SINCE.toLowerCase(),
+            HttpHeaders.IF_MATCH.toLowerCase(), HttpHeaders.IF_UNMODIFIED_SINCE.toLowerCase(),
+            "idempotency-key");
+
+    private final String path;
+    private final String query;
+    private final Map<String, String[]> parameters;
+    private final Origin origin;
+    private final Map<String, List<String>> headers;
+    private final Map<String, Object> attributes = new HashMap<>();
+    private String characterEncoding;
+
+    SubRequest(HttpServletRequest batchRequest, UriComponents uri, Origin origin) {
+        super(batchRequest);
+        this.path = uri.getPath();
+        this.query = uri.getQuery();
+        this.origin = origin;
+        this.headers = origin.headers;
+        this.characterEncoding = origin.characterEncoding;
+        this.parameters = decode(uri.getQueryParams());
+    }
+
+    /** What the sub-requests need from the batch request, copied on the request thread. */
+    static final class Origin {
+
+        private final Map<String, List<String>> headers;
+        private final String scheme;
+        private final String serverName;
+        private final int serverPort;
+        private final boolean secure;
+        private final String protocol;
+        private final String contextPath;
+        private final String characterEncoding;
+        private final Locale locale;
+        private final List<Locale> locales;
+        private final Cookie[] cookies;
+        private final String remoteAddr;
+        private final String remoteHost;
+        private final int remotePort;
+        private final String localAddr;
+        private final String localName;
+        private final int localPort;
+        private final HttpServletMapping servletMapping;
+        private final ServletContext servletContext;
+
+        private Origin(HttpServletRequest request) {
+            Map<String, List<String>> copied = new LinkedCaseInsensitiveMap<>();
+            for (String name : Collections.list(request.getHeaderNames())) {
+                if (!DROPPED_HEADERS.contains(name.toLowerCase())) {
+                    copied.put(name, Collections.list(request.getHeaders(name)));
+                }
+            }
+            copied.put(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE));
+            this.headers = Collections.unmodifiableMap(copied);
+            this.scheme = request.getScheme();
+            this.serverName = request.getServerName();
+            this.serverPort = request.getServerPort();
+            this.secure = request.isSecure();
+            this.protocol = request.getProtocol();
+            this.contextPath = request.getContextPath();
+            this.characterEncoding = request.getCharacterEncoding();
+            this.locale = request.getLocale();
+            this.locales = Collections.list(request.getLocales());
+            this.cookies = request.getCookies();
+            this.remoteAddr = request.getRemoteAddr();
+            this.remoteHost = request.getRemoteHost();
+            this.remotePort = request.getRemotePort();
+            this.localAddr = request.getLocalAddr();
+            this.localName = request.getLocalName();
+            this.localPort = request.getLocalPort();
+            this.servletMapping = request.getHttpServletMapping();
+            this.servletContext = request.getServletContext();
+        }
+    }
+
+    static Origin capture(HttpServletRequest request) {
+        return new Origin(request);
+    }
+
+    private static Map<String, String[]> decode(MultiValueMap<String, String> rawParams) {
+        Map<String, String[]> decoded = new LinkedHashMap<>();
+        rawParams.forEach((name, values) -> decoded.put(
+                UriUtils.decode(name, StandardCharsets.UTF_8),
+                values.stream()
+                        .map(value -> value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8))
+                        .toArray(String[]::new)));
+        return Collections.unmodifiableMap(decoded);
+    }
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public String getScheme() {
+        return origin.scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return origin.serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return origin.serverPort;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return origin.secure;
+    }
+
+    @Override
+    public String getProtocol() {
+        return origin.protocol;
+    }
+
+    @Override
+    public String getContextPath() {
+        return origin.contextPath;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        this.characterEncoding = encoding;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return origin.locale;
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(origin.locales);
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        return origin.cookies == null ? null : origin.cookies.clone();
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return origin.remoteAddr;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return origin.remoteHost;
+    }
+
+    @Override
+    public int getRemotePort() {
+        return origin.remotePort;
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return origin.localAddr;
+    }
+
+    @Override
+    public String getLocalName() {
+        return origin.localName;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return origin.localPort;
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return origin.servletMapping;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return origin.servletContext;
+    }
+
+    // The API is stateless: sub-requests neither see nor create sessions
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (create) {
+            throw new IllegalStateException("Sessions are not available in a batch");
+        }
+        return null;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return null;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return false;
+    }
+
+    // From the worker's own SecurityContext, which the dispatcher propagates
+    @Override
+    public Principal getUserPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication : null;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        Principal principal = getUserPrincipal();
+        return principal == null ? null : principal.getName();
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || role == null) {
+            return false;
+        }
+        String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+        return authentication.getAuthorities().stream().anyMatch(granted -> authority.equals(granted.getAuthority()));
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+        return url.append(getRequestURI());
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return query;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return parameters;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        // Only the conditional headers are dates, and those are not forwarded
+        return -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return -1;
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new StringReader(""));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Async processing is not supported in a batch");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Async processing is not supported in a batch");
+    }
+}
@@ -0,0 +1,21 @@
+package com.edutech.studify.cache;
+
+/**
+ * Receives invalidations published by other Studify nodes. Every local cache
+ * that holds entity data registers one of these so a write on node A evicts
+ * the stale copy on node B.
+ */
+public interface CacheInvalidationHandler {
+
+    /** A single row of {@code entityName} changed on another node. */
+    void evict(String entityName, Long id);
+
+    /** Too many rows of {@code entityName} changed to list them individually. */
+    void evictAll(String entityName);
+
+    /**
+     * The listener lost its connection and may have missed notifications;
+     * anything cached before now can no longer be trusted.
+     */
+    void evictEverything();
+}
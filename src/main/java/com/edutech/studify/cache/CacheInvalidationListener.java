@@ -0,0 +1,159 @@
+package com.edutech.studify.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds a dedicated connection in LISTEN mode and turns notifications from other
+ * nodes into local evictions. The connection is opened outside the Hikari pool on
+ * purpose - it is held for the lifetime of the application.
+ *
+ * If the connection drops, notifications sent in the meantime are lost, so after
+ * reconnecting every handler is told to drop everything it has cached.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationListener {
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final CacheInvalidationPublisher publisher;
+    private final List<CacheInvalidationHandler> handlers;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    @Value("${app.cache.invalidation.poll-timeout-ms:5000}")
+    private int pollTimeoutMs;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listenerThread;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+        closeQuietly();
+    }
+
+    private void listenLoop() {
+        long backoffMs = 1_000;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try {
+                connect();
+                if (connectedBefore) {
+                    log.info("Cache invalidation listener reconnected - dropping all locally cached entities");
+                    handlers.forEach(CacheInvalidationHandler::evictEverything);
+                }
+                connectedBefore = true;
+                backoffMs = 1_000;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection: {} - retrying in {} ms", e.getMessage(), backoffMs);
+                closeQuietly();
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private void connect() throws SQLException {
+        connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN \"" + publisher.getChannel() + "\"");
+        }
+        log.info("Listening for cache invalidations on '{}'", publisher.getChannel());
+    }
+
+    private void dispatch(String payload) {
+        Map.Entry<String, InvalidationBatch> message;
+        try {
+            message = InvalidationBatch.parse(payload);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed cache invalidation payload '{}'", payload);
+            return;
+        }
+        if (publisher.getNodeId().equals(message.getKey())) {
+            // Our own commit - the local caches were updated in-process already.
+            return;
+        }
+
+        InvalidationBatch batch = message.getValue();
+        for (CacheInvalidationHandler handler : handlers) {
+            try {
+                batch.getWholeEntities().forEach(handler::evictAll);
+                for (Map.Entry<String, Set<Long>> entry : batch.getIdsByEntity().entrySet()) {
+                    entry.getValue().forEach(id -> handler.evict(entry.getKey(), id));
+                }
+            } catch (RuntimeException e) {
+                log.error("Cache invalidation handler {} failed", handler.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private void closeQuietly() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException ignored) {
+                // already broken
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.edutech.studify.cache;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes entity changes to the other nodes via PostgreSQL NOTIFY.
+ *
+ * Changes are collected per Hibernate session and sent from a before-completion
+ * hook, i.e. on the writing transaction's own connection right after the final
+ * flush. PostgreSQL only delivers a NOTIFY when that transaction commits, so a
+ * rollback never produces a spurious eviction, and a bulk write sends a handful
+ * of coalesced payloads instead of one message per row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationPublisher {
+
+    // PostgreSQL rejects payloads of 8000 bytes or more; leave room for multi-byte entity names.
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<SessionImplementor, InvalidationBatch> pendingBySession = new ConcurrentHashMap<>();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    @Value("${app.cache.invalidation.channel:studify_cache_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.max-ids-per-entity:200}")
+    private int maxIdsPerEntity;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Queues an invalidation for the current transaction. Outside a transaction
+     * the notification is sent straight away on its own connection.
+     */
+    public void publish(String entityName, Long id) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager == null) {
+            InvalidationBatch batch = new InvalidationBatch();
+            batch.add(entityName, id, maxIdsPerEntity);
+            sendNow(batch);
+            return;
+        }
+        publish(entityManager.unwrap(SessionImplementor.class), entityName, id);
+    }
+
+    void publish(SessionImplementor session, String entityName, Long id) {
+        pendingBySession.computeIfAbsent(session, this::registerCompletionHooks)
+                .add(entityName, id, maxIdsPerEntity);
+    }
+
+    private InvalidationBatch registerCompletionHooks(SessionImplementor session) {
+        InvalidationBatch batch = new InvalidationBatch();
+        session.getActionQueue().registerProcess(completingSession -> {
+            InvalidationBatch pending = pendingBySession.remove(completingSession);
+            if (pending != null && !pending.isEmpty()) {
+                completingSession.doWork(connection -> send(connection, pending));
+            }
+        });
+        // Rollback skips the before-completion hook; make sure the batch is dropped either way.
+        session.getActionQueue().registerProcess((success, completedSession) -> pendingBySession.remove(completedSession));
+        return batch;
+    }
+
+    private void sendNow(InvalidationBatch batch) {
+        try (Connection connection = dataSource.getConnection()) {
+            send(connection, batch);
+        } catch (SQLException e) {
+            log.warn("Failed to publish cache invalidation outside a transaction: {}", e.getMessage());
+        }
+    }
+
+    private void send(Connection connection, InvalidationBatch batch) throws SQLException {
+        List<String> payloads = batch.toPayloads(nodeId, MAX_PAYLOAD_LENGTH);
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : payloads) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        }
+        log.debug("Published {} cache invalidation payload(s) on '{}'", payloads.size(), channel);
+    }
+}
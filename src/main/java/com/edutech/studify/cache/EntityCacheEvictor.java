@@ -0,0 +1,84 @@
+package com.edutech.studify.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops entries from the Hibernate second-level cache once the current
+ * transaction has committed.
+ *
+ * Plain updates and deletes keep the cache in sync on their own. A soft delete
+ * is an UPDATE that Hibernate happily writes back into the cache, but the row is
+ * now hidden by {@code @SQLRestriction} - without an explicit eviction a
+ * {@code findById} would keep returning the "deleted" entity from memory.
+ *
+ * Also applies invalidations received from other nodes. Remote writes never
+ * touch our update-timestamps region, so cached query results are dropped too.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor implements CacheInvalidationHandler {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictAfterCommit(Class<?> entityClass, Object id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(entityClass, id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(entityClass, id);
+            }
+        });
+    }
+
+    public void evict(Class<?> entityClass, Object id) {
+        entityManagerFactory.getCache().evict(entityClass, id);
+        log.debug("Evicted {}#{} from the second-level cache", entityClass.getSimpleName(), id);
+    }
+
+    @Override
+    public void evict(String entityName, Long id) {
+        Class<?> entityClass = resolve(entityName);
+        if (entityClass != null) {
+            evict(entityClass, id);
+            evictQueryResults();
+        }
+    }
+
+    @Override
+    public void evictAll(String entityName) {
+        Class<?> entityClass = resolve(entityName);
+        if (entityClass != null) {
+            entityManagerFactory.getCache().evict(entityClass);
+            evictQueryResults();
+        }
+    }
+
+    @Override
+    public void evictEverything() {
+        entityManagerFactory.getCache().evictAll();
+        evictQueryResults();
+    }
+
+    private void evictQueryResults() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private Class<?> resolve(String entityName) {
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .filter(entityType -> entityType.getName().equals(entityName))
+                .map(EntityType::getJavaType)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.edutech.studify.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Hooks into Hibernate's post-insert/update/delete events and hands every change
+ * to a cached entity type over to {@link CacheInvalidationPublisher}. Soft deletes
+ * arrive here as updates, {@code @SQLDelete} rows as deletes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+public class EntityChangeNotifier implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationPublisher publisher;
+
+    @Value("${app.cache.invalidation.entities:Department,Course,Teacher,Student,User,TokenRevocation}")
+    private Set<String> trackedEntities;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        log.info("Cache invalidation enabled for {} on channel '{}' (node {})",
+                trackedEntities, publisher.getChannel(), publisher.getNodeId());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onChange(event);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onChange(event);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onChange(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onChange(AbstractPostDatabaseOperationEvent event) {
+        String entityName = event.getPersister().getMappedClass().getSimpleName();
+        if (!trackedEntities.contains(entityName)) {
+            return;
+        }
+        Long id = event.getId() instanceof Number number ? number.longValue() : null;
+        publisher.publish(event.getSession(), entityName, id);
+    }
+}
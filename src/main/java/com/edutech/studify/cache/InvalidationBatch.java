@@ -0,0 +1,119 @@
+package com.edutech.studify.cache;
+
+import java.util.*;
+
+/**
+ * The set of entity changes made by one transaction, coalesced per entity type,
+ * plus the wire format used for the NOTIFY payload:
+ *
+ * <pre>{@code <nodeId>;Course:1,2,3;Teacher:*}</pre>
+ *
+ * A type whose id list grows past the configured limit (bulk writes) collapses
+ * into {@code *}, meaning "evict every cached row of that type".
+ */
+class InvalidationBatch {
+
+    private static final String ALL = "*";
+
+    private final Map<String, Set<Long>> idsByEntity = new LinkedHashMap<>();
+    private final Set<String> wholeEntities = new LinkedHashSet<>();
+
+    void add(String entityName, Long id, int maxIdsPerEntity) {
+        if (wholeEntities.contains(entityName)) {
+            return;
+        }
+        if (id == null) {
+            addAll(entityName);
+            return;
+        }
+        Set<Long> ids = idsByEntity.computeIfAbsent(entityName, name -> new LinkedHashSet<>());
+        ids.add(id);
+        if (ids.size() > maxIdsPerEntity) {
+            addAll(entityName);
+        }
+    }
+
+    void addAll(String entityName) {
+        idsByEntity.remove(entityName);
+        wholeEntities.add(entityName);
+    }
+
+    boolean isEmpty() {
+        return idsByEntity.isEmpty() && wholeEntities.isEmpty();
+    }
+
+    Map<String, Set<Long>> getIdsByEntity() {
+        return idsByEntity;
+    }
+
+    Set<String> getWholeEntities() {
+        return wholeEntities;
+    }
+
+    /**
+     * Splits the batch into payloads no longer than {@code maxLength} characters
+     * (PostgreSQL rejects NOTIFY payloads of 8000 bytes or more).
+     */
+    List<String> toPayloads(String nodeId, int maxLength) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder current = new StringBuilder(nodeId);
+
+        for (String entityName : wholeEntities) {
+            current = append(payloads, current, nodeId, entityName + ":" + ALL, maxLength);
+        }
+        for (Map.Entry<String, Set<Long>> entry : idsByEntity.entrySet()) {
+            StringBuilder segment = new StringBuilder(entry.getKey()).append(':');
+            int prefixLength = segment.length();
+            for (Long id : entry.getValue()) {
+                String token = id.toString();
+                if (segment.length() > prefixLength
+                        && nodeId.length() + 1 + segment.length() + 1 + token.length() > maxLength) {
+                    current = append(payloads, current, nodeId, segment.toString(), maxLength);
+                    segment.setLength(prefixLength);
+                }
+                if (segment.length() > prefixLength) {
+                    segment.append(',');
+                }
+                segment.append(token);
+            }
+            current = append(payloads, current, nodeId, segment.toString(), maxLength);
+        }
+
+        if (current.length() > nodeId.length()) {
+            payloads.add(current.toString());
+        }
+        return payloads;
+    }
+
+    private static StringBuilder append(List<String> payloads, StringBuilder current, String nodeId,
+                                        String segment, int maxLength) {
+        if (current.length() > nodeId.length() && current.length() + 1 + segment.length() > maxLength) {
+            payloads.add(current.toString());
+            current = new StringBuilder(nodeId);
+        }
+        return current.append(';').append(segment);
+    }
+
+    /** Parses a payload produced by {@link #toPayloads}; returns the sender's node id as the map key. */
+    static Map.Entry<String, InvalidationBatch> parse(String payload) {
+        String[] segments = payload.split(";");
+        InvalidationBatch batch = new InvalidationBatch();
+
+        for (int i = 1; i < segments.length; i++) {
+            int separator = segments[i].indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            String entityName = segments[i].substring(0, separator);
+            String ids = segments[i].substring(separator + 1);
+            if (ALL.equals(ids)) {
+                batch.addAll(entityName);
+                continue;
+            }
+            for (String id : ids.split(",")) {
+                batch.add(entityName, Long.valueOf(id), Integer.MAX_VALUE);
+            }
+        }
+        return Map.entry(segments[0], batch);
+    }
+}
@@ -1,9 +1,14 @@
 package com.edutech.studify.config;
 
+import com.edutech.studify.idempotency.IdempotencyFilter;
+import com.edutech.studify.security.AuthRateLimitFilter;
 import com.edutech.studify.security.CustomUserDetailsService;
 import com.edutech.studify.security.JwtAuthenticationEntryPoint;
 import com.edutech.studify.security.JwtAuthenticationFilter;
+import com.edutech.studify.security.OffloadedPasswordEncoder;
+import com.edutech.studify.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +24,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -29,13 +37,20 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyFilter idempotencyFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
+    private final PasswordHashingService passwordHashingService;
+    private final ManagementPortRequestMatcher managementPortRequestMatcher;
+
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
 
     /**
-     * Password encoder bean (BCrypt)
+     * Password encoder bean (BCrypt), executed on the password hashing pool
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new OffloadedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), passwordHashingService);
     }
 
     /**
@@ -47,6 +62,8 @@ public class SecurityConfig {
                 new DaoAuthenticationProvider(userDetailsService);
 
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehashes the stored password on successful login when the configured strength was raised
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -82,6 +99,11 @@ public class SecurityConfig {
                         // Public endpoints (no authentication required)
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+                        // Scrape and liveness endpoints are open only on the management port,
+                        // which is not exposed publicly; anywhere else they need a login
+                        .requestMatchers(new AndRequestMatcher(managementPortRequestMatcher, new OrRequestMatcher(
+                                PathPatternRequestMatcher.withDefaults().matcher("/actuator/health/**"),
+                                PathPatternRequestMatcher.withDefaults().matcher("/actuator/prometheus")))).permitAll()
 
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
@@ -91,7 +113,13 @@ public class SecurityConfig {
                 .authenticationProvider(authenticationProvider())
 
                 // Add JWT filter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Throttle the public auth endpoints ahead of any token parsing or BCrypt work
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class)
+
+                // Replay retried writes once the caller is known (keys are per user)
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
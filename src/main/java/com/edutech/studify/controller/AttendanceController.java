@@ -4,11 +4,13 @@ import com.edutech.studify.dto.request.AttendanceRequest;
 import com.edutech.studify.dto.response.ApiResponse;
 import com.edutech.studify.dto.response.AttendanceResponse;
 import com.edutech.studify.dto.response.AttendanceSummaryResponse;
+import com.edutech.studify.dto.util.ApiResponseStreamer;
 import com.edutech.studify.entity.AttendanceStatus;
 import com.edutech.studify.service.AttendanceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -17,8 +19,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/attendance")
@@ -28,6 +30,7 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final ApiResponseStreamer apiResponseStreamer;
 
     /**
      * Mark attendance for multiple students
@@ -78,21 +81,15 @@ public class AttendanceController {
     @GetMapping("/student/{studentId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STUDENT')")
     @Operation(summary = "Get student attendance", description = "Retrieve attendance records for a student")
-    public ResponseEntity<ApiResponse<List<AttendanceResponse>>> getStudentAttendance(
+    public void getStudentAttendance(
             @PathVariable Long studentId,
             @RequestParam(required = false) Long courseId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response) throws IOException {
 
-        List<AttendanceResponse> attendance = attendanceService.getAttendanceByStudent(
-                studentId, courseId, startDate, endDate);
-
-        return ResponseEntity.ok(
-                ApiResponse.<List<AttendanceResponse>>builder()
-                        .success(true)
-                        .message("Attendance retrieved successfully")
-                        .data(attendance)
-                        .build());
+        apiResponseStreamer.<AttendanceResponse>stream(response, "Attendance retrieved successfully",
+                sink -> attendanceService.streamAttendanceByStudent(studentId, courseId, startDate, endDate, sink));
     }
 
     /**
@@ -102,18 +99,13 @@ public class AttendanceController {
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "Get course attendance", description = "Retrieve attendance records for a course")
-    public ResponseEntity<ApiResponse<List<AttendanceResponse>>> getCourseAttendance(
+    public void getCourseAttendance(
             @PathVariable Long courseId,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            HttpServletResponse response) throws IOException {
 
-        List<AttendanceResponse> attendance = attendanceService.getAttendanceByCourse(courseId, date);
-
-        return ResponseEntity.ok(
-                ApiResponse.<List<AttendanceResponse>>builder()
-                        .success(true)
-                        .message("Attendance retrieved successfully")
-                        .data(attendance)
-                        .build());
+        apiResponseStreamer.<AttendanceResponse>stream(response, "Attendance retrieved successfully",
+                sink -> attendanceService.streamAttendanceByCourse(courseId, date, sink));
     }
 
     /**
@@ -0,0 +1,52 @@
+package com.edutech.studify.controller;
+
+import com.edutech.studify.batch.BatchDispatcher;
+import com.edutech.studify.dto.request.BatchRequest;
+import com.edutech.studify.dto.response.ApiResponse;
+import com.edutech.studify.dto.response.BatchResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/batch")
+@RequiredArgsConstructor
+@Tag(name = "Batch", description = "Several read requests in one round trip")
+@SecurityRequirement(name = "bearerAuth")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    /**
+     * Run several GET requests at once
+     * ADMIN, TEACHER, STUDENT - each request is authorized as if sent on its own
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STUDENT')")
+    @Operation(summary = "Batch GET requests",
+            description = "Runs up to " + BatchRequest.MAX_REQUESTS + " GET requests under /api/v1/ in parallel and " +
+                    "returns each one's status and body, in request order. A failing request does not fail the batch.")
+    public ResponseEntity<ApiResponse<BatchResponse>> batch(
+            @Valid @RequestBody BatchRequest batchRequest,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+
+        List<BatchResponse.Result> results = batchDispatcher.dispatch(batchRequest.getRequests(), request, response);
+
+        return ResponseEntity.ok(
+                ApiResponse.<BatchResponse>builder()
+                        .success(true)
+                        .message("Batch completed")
+                        .data(BatchResponse.builder().results(results).build())
+                        .build());
+    }
+}
@@ -6,6 +6,7 @@ import com.edutech.studify.dto.response.ApiResponse;
 import com.edutech.studify.dto.response.CourseResponse;
 import com.edutech.studify.dto.response.PageResponse;
 import com.edutech.studify.service.CourseService;
+import com.edutech.studify.util.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +16,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/courses")
@@ -105,12 +109,19 @@ public class CourseController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get course by ID", description = "Retrieve course details by ID")
-    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CourseResponse>> getCourseById(@PathVariable Long id, WebRequest request) {
+
+        Optional<String> eTag = courseService.findCourseETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return null; // 304, already written by checkNotModified
+        }
 
         CourseResponse course = courseService.getCourseById(id);
 
-        return ResponseEntity.ok(
-                ApiResponse.<CourseResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(eTag.orElse(null))
+                .cacheControl(ETagUtils.REVALIDATE)
+                .body(ApiResponse.<CourseResponse>builder()
                         .success(true)
                         .message("Course retrieved successfully")
                         .data(course)
@@ -123,12 +134,19 @@ public class CourseController {
      */
     @GetMapping("/code/{courseCode}")
     @Operation(summary = "Get course by code", description = "Retrieve course details by course code")
-    public ResponseEntity<ApiResponse<CourseResponse>> getCourseByCourseCode(@PathVariable String courseCode) {
+    public ResponseEntity<ApiResponse<CourseResponse>> getCourseByCourseCode(@PathVariable String courseCode, WebRequest request) {
+
+        Optional<String> eTag = courseService.findCourseETagByCourseCode(courseCode);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return null; // 304, already written by checkNotModified
+        }
 
         CourseResponse course = courseService.getCourseByCourseCode(courseCode);
 
-        return ResponseEntity.ok(
-                ApiResponse.<CourseResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(eTag.orElse(null))
+                .cacheControl(ETagUtils.REVALIDATE)
+                .body(ApiResponse.<CourseResponse>builder()
                         .success(true)
                         .message("Course retrieved successfully")
                         .data(course)
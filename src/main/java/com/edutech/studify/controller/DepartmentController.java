@@ -4,6 +4,7 @@ import com.edutech.studify.dto.request.DepartmentRequest;
 import com.edutech.studify.dto.response.ApiResponse;
 import com.edutech.studify.dto.response.DepartmentResponse;
 import com.edutech.studify.service.DepartmentService;
+import com.edutech.studify.util.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,8 +14,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/departments")
@@ -52,12 +55,19 @@ public class DepartmentController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get department by ID", description = "Retrieve department details by ID")
-    public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DepartmentResponse>> getDepartmentById(@PathVariable Long id, WebRequest request) {
+
+        Optional<String> eTag = departmentService.findDepartmentETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return null; // 304, already written by checkNotModified
+        }
 
         DepartmentResponse department = departmentService.getDepartmentById(id);
 
-        return ResponseEntity.ok(
-                ApiResponse.<DepartmentResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(eTag.orElse(null))
+                .cacheControl(ETagUtils.REVALIDATE)
+                .body(ApiResponse.<DepartmentResponse>builder()
                         .success(true)
                         .message("Department retrieved successfully")
                         .data(department)
@@ -70,12 +80,19 @@ public class DepartmentController {
      */
     @GetMapping
     @Operation(summary = "Get all departments", description = "Retrieve all departments")
-    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments() {
+    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getAllDepartments(WebRequest request) {
+
+        String eTag = departmentService.getDepartmentsETag();
+        if (request.checkNotModified(eTag)) {
+            return null; // 304, already written by checkNotModified
+        }
 
         List<DepartmentResponse> departments = departmentService.getAllDepartments();
 
-        return ResponseEntity.ok(
-                ApiResponse.<List<DepartmentResponse>>builder()
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(ETagUtils.REVALIDATE)
+                .body(ApiResponse.<List<DepartmentResponse>>builder()
                         .success(true)
                         .message("Departments retrieved successfully")
                         .data(departments)
@@ -4,11 +4,13 @@ import com.edutech.studify.dto.request.EnrollmentRequest;
 import com.edutech.studify.dto.response.ApiResponse;
 import com.edutech.studify.dto.response.EnrollmentResponse;
 import com.edutech.studify.dto.response.PageResponse;
+import com.edutech.studify.dto.util.ApiResponseStreamer;
 import com.edutech.studify.entity.EnrollmentStatus;
 import com.edutech.studify.service.EnrollmentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -16,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -26,6 +29,7 @@ import java.util.List;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final ApiResponseStreamer apiResponseStreamer;
 
     /**
      * Enroll student in course
@@ -173,16 +177,11 @@ public class EnrollmentController {
     @GetMapping("/course/{courseId}/active")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER')")
     @Operation(summary = "Get active course enrollments", description = "Retrieve active enrollments for a course")
-    public ResponseEntity<ApiResponse<List<EnrollmentResponse>>> getActiveCourseEnrollments(
-            @PathVariable Long courseId) {
-
-        List<EnrollmentResponse> enrollments = enrollmentService.getActiveEnrollmentsByCourseId(courseId);
+    public void getActiveCourseEnrollments(
+            @PathVariable Long courseId,
+            HttpServletResponse response) throws IOException {
 
-        return ResponseEntity.ok(
-                ApiResponse.<List<EnrollmentResponse>>builder()
-                        .success(true)
-                        .message("Active enrollments retrieved successfully")
-                        .data(enrollments)
-                        .build());
+        apiResponseStreamer.<EnrollmentResponse>stream(response, "Active enrollments retrieved successfully",
+                sink -> enrollmentService.streamActiveEnrollmentsByCourseId(courseId, sink));
     }
 }
\ No newline at end of file
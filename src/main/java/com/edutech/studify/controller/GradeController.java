@@ -4,10 +4,12 @@ import com.edutech.studify.dto.request.GradeRequest;
 import com.edutech.studify.dto.response.ApiResponse;
 import com.edutech.studify.dto.response.GradeResponse;
 import com.edutech.studify.dto.response.PageResponse;
+import com.edutech.studify.dto.util.ApiResponseStreamer;
 import com.edutech.studify.service.GradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -15,7 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/v1/grades")
@@ -25,6 +27,7 @@ import java.util.List;
 public class GradeController {
 
     private final GradeService gradeService;
+    private final ApiResponseStreamer apiResponseStreamer;
 
     /**
      * Add or update grade
@@ -114,18 +117,13 @@ public class GradeController {
     @GetMapping("/student/{studentId}/all")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STUDENT')")
     @Operation(summary = "Get all student grades", description = "Retrieve all grades for a student")
-    public ResponseEntity<ApiResponse<List<GradeResponse>>> getAllStudentGrades(
+    public void getAllStudentGrades(
             @PathVariable Long studentId,
-            @RequestParam(required = false) String semester) {
-
-        List<GradeResponse> grades = gradeService.getAllGradesByStudent(studentId, semester);
+            @RequestParam(required = false) String semester,
+            HttpServletResponse response) throws IOException {
 
-        return ResponseEntity.ok(
-                ApiResponse.<List<GradeResponse>>builder()
-                        .success(true)
-                        .message("Grades retrieved successfully")
-                        .data(grades)
-                        .build());
+        apiResponseStreamer.<GradeResponse>stream(response, "Grades retrieved successfully",
+                sink -> gradeService.streamAllGradesByStudent(studentId, semester, sink));
     }
 
     /**
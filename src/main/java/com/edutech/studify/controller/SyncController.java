@@ -0,0 +1,49 @@
+package com.edutech.studify.controller;
+
+import com.edutech.studify.dto.response.ApiResponse;
+import com.edutech.studify.dto.response.SyncResponse;
+import com.edutech.studify.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+@RequiredArgsConstructor
+@Tag(name = "Sync", description = "Delta sync for clients that keep a local copy")
+@SecurityRequirement(name = "bearerAuth")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * Get changes since the previous sync
+     * ADMIN, TEACHER (own courses), STUDENT (own records)
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('STUDENT')")
+    @Operation(summary = "Sync changes",
+            description = "Courses, enrollments, grades and attendance changed since the given mark, plus soft-deleted " +
+                    "student and teacher ids, paged per collection. While hasMore is true, call again with the returned " +
+                    "continuation; then pass syncedUntil as since next time. Omit both to get a starting mark.")
+    public ResponseEntity<ApiResponse<SyncResponse>> sync(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) String continuation) {
+
+        SyncResponse changes = syncService.getChangesSince(since, continuation);
+
+        return ResponseEntity.ok(
+                ApiResponse.<SyncResponse>builder()
+                        .success(true)
+                        .message("Changes retrieved successfully")
+                        .data(changes)
+                        .build());
+    }
+}
@@ -6,6 +6,7 @@ import com.edutech.studify.dto.response.ApiResponse;
 import com.edutech.studify.dto.response.PageResponse;
 import com.edutech.studify.dto.response.TeacherResponse;
 import com.edutech.studify.service.TeacherService;
+import com.edutech.studify.util.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +16,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/teachers")
@@ -75,12 +79,19 @@ public class TeacherController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get teacher by ID", description = "Retrieve teacher details by ID")
-    public ResponseEntity<ApiResponse<TeacherResponse>> getTeacherById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<TeacherResponse>> getTeacherById(@PathVariable Long id, WebRequest request) {
+
+        Optional<String> eTag = teacherService.findTeacherETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return null; // 304, already written by checkNotModified
+        }
 
         TeacherResponse teacher = teacherService.getTeacherById(id);
 
-        return ResponseEntity.ok(
-                ApiResponse.<TeacherResponse>builder()
+        return ResponseEntity.ok()
+                .eTag(eTag.orElse(null))
+                .cacheControl(ETagUtils.REVALIDATE)
+                .body(ApiResponse.<TeacherResponse>builder()
                         .success(true)
                         .message("Teacher retrieved successfully")
                         .data(teacher)
@@ -0,0 +1,49 @@
+package com.edutech.studify.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every HikariCP pool in an {@link AdmissionControlledDataSource} sized to
+ * the pool's maximum-pool-size. Enabled by the virtual-threads profile, where
+ * request concurrency is no longer capped by the Tomcat thread pool.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.admission.enabled", havingValue = "true")
+public class ConnectionAdmissionConfig implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.datasource.admission.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+
+    public ConnectionAdmissionConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource hikari)) {
+            return bean;
+        }
+
+        int permits = hikari.getMaximumPoolSize();
+        AdmissionControlledDataSource limited = new AdmissionControlledDataSource(hikari, permits, acquireTimeoutMs);
+        meterRegistry.ifAvailable(registry -> Gauge
+                .builder("studify.datasource.admission.waiting", limited, AdmissionControlledDataSource::getWaitingCount)
+                .description("Threads waiting for a database admission permit")
+                .tag("pool", beanName)
+                .register(registry));
+
+        log.info("Database admission limiter enabled on '{}' with {} permit(s).", beanName, permits);
+        return limited;
+    }
+}
@@ -0,0 +1,105 @@
+package com.edutech.studify.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the
+ * replica pool and everything else to the primary.
+ * <p>
+ * Must sit behind a LazyConnectionDataSourceProxy: the JPA transaction manager
+ * asks for a connection before the read-only flag is bound to the thread, so
+ * the physical connection has to be fetched lazily on the first statement.
+ * <p>
+ * If the replica can't hand out a connection the request falls back to the
+ * primary and the replica is skipped for {@code retryAfterMs}.
+ * <p>
+ * Read-only work that must not see replica lag runs inside
+ * {@link #runOnPrimary}: it stays read-only, so it is not counted as a write.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long retryAfterMs;
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private volatile long replicaUnavailableUntil;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      DataSource replica,
+                                      ReadYourWritesTracker readYourWritesTracker,
+                                      long retryAfterMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (shouldUseReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                replicaUnavailableUntil = System.currentTimeMillis() + retryAfterMs;
+                log.warn("Replica unavailable ({}). Routing reads to the primary for the next {}ms.",
+                        e.getMessage(), retryAfterMs);
+            }
+        }
+
+        trackWriteTransaction();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Routing data source only supports pool-configured credentials");
+    }
+
+    /**
+     * Runs work whose connections all come from the primary. Only connections
+     * fetched inside it are affected, so start it outside any transaction.
+     */
+    public static <T> T runOnPrimary(Supplier<T> work) {
+        if (PRIMARY_ONLY.get() != null) {
+            return work.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    private boolean shouldUseReplica() {
+        return PRIMARY_ONLY.get() == null
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && System.currentTimeMillis() >= replicaUnavailableUntil
+                && !readYourWritesTracker.isWithinWindow();
+    }
+
+    private void trackWriteTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesTracker.recordWrite();
+            }
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.edutech.studify.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per authenticated user, when they last committed a write. For a
+ * short window afterwards their read-only transactions stay on the primary so
+ * they never read a replica that hasn't caught up with their own change yet.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.read-your-writes-window-ms:5000}")
+    private long windowMs;
+
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteByUser.put(username, now);
+
+        if (lastWriteByUser.size() > PRUNE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(writtenAt -> now - writtenAt > windowMs);
+        }
+    }
+
+    public boolean isWithinWindow() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteByUser.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt > windowMs) {
+            lastWriteByUser.remove(username, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
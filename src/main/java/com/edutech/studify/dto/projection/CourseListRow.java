@@ -0,0 +1,35 @@
+package com.edutech.studify.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the course list. The active enrollment count is aggregated in
+ * the query instead of initializing each course's enrollments collection.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseListRow {
+
+    private Long id;
+    private String courseCode;
+    private String name;
+    private String description;
+    private Integer credits;
+    private String semester;
+    private Integer maxCapacity;
+    private Long enrolledCount;
+    private Long departmentId;
+    private String departmentName;
+    private String departmentCode;
+    private Long teacherId;
+    private String teacherFirstName;
+    private String teacherLastName;
+    private String teacherEmail;
+    private LocalDateTime createdAt;
+    private String createdBy;
+    private LocalDateTime updatedAt;
+    private String updatedBy;
+}
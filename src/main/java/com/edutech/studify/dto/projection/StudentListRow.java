@@ -0,0 +1,35 @@
+package com.edutech.studify.dto.projection;
+
+import com.edutech.studify.entity.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row of the student list, selected with a JPQL constructor expression
+ * so list pages never hydrate managed Student entities.
+ */
+@Getter
+@AllArgsConstructor
+public class StudentListRow {
+
+    private Long id;
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private LocalDate dateOfBirth;
+    private String address;
+    private Long departmentId;
+    private String departmentName;
+    private String departmentCode;
+    private LocalDate enrollmentDate;
+    private StudentStatus status;
+    private LocalDateTime createdAt;
+    private String createdBy;
+    private LocalDateTime updatedAt;
+    private String updatedBy;
+}
@@ -0,0 +1,31 @@
+package com.edutech.studify.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the teacher list. The course count is aggregated in the query
+ * instead of initializing each teacher's courses collection.
+ */
+@Getter
+@AllArgsConstructor
+public class TeacherListRow {
+
+    private Long id;
+    private Long userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private Long departmentId;
+    private String departmentName;
+    private String departmentCode;
+    private String specialization;
+    private Long courseCount;
+    private LocalDateTime createdAt;
+    private String createdBy;
+    private LocalDateTime updatedAt;
+    private String updatedBy;
+}
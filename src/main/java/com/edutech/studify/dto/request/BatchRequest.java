@@ -0,0 +1,43 @@
+package com.edutech.studify.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchRequest {
+
+    public static final int MAX_REQUESTS = 25;
+
+    @NotEmpty(message = "At least one request is required")
+    @Size(max = MAX_REQUESTS, message = "At most " + MAX_REQUESTS + " requests per batch")
+    @Valid
+    private List<Item> requests;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+
+        // Echoed back on the matching result
+        @NotBlank(message = "Request ID is required")
+        @Size(max = 64, message = "Request ID must not exceed 64 characters")
+        private String id;
+
+        // API path with optional query string, e.g. /api/v1/grades/student/1/all
+        @NotBlank(message = "Path is required")
+        @Size(max = 2048, message = "Path must not exceed 2048 characters")
+        private String path;
+    }
+}
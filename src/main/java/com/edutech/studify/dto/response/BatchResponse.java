@@ -0,0 +1,35 @@
+package com.edutech.studify.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchResponse {
+
+    // In the order the requests were given
+    private List<Result> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+
+        private String id;
+
+        // HTTP status the request would have had on its own
+        private int status;
+
+        // The response body exactly as the endpoint wrote it; null when empty
+        @JsonRawValue
+        private String body;
+    }
+}
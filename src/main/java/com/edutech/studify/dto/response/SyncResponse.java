@@ -0,0 +1,40 @@
+package com.edutech.studify.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncResponse {
+
+    // Server-issued high-water mark: send it back as "since" on the next sync,
+    // once every page has been fetched
+    private LocalDateTime syncedUntil;
+
+    // More rows up to syncedUntil remain: fetch them with "continuation"
+    private boolean hasMore;
+    private String continuation;
+
+    // Created or updated since the previous sync; apply as upserts by id
+    @Builder.Default
+    private List<CourseResponse> courses = List.of();
+    @Builder.Default
+    private List<EnrollmentResponse> enrollments = List.of();
+    @Builder.Default
+    private List<GradeResponse> grades = List.of();
+    @Builder.Default
+    private List<AttendanceResponse> attendance = List.of();
+
+    // Soft-deleted since the previous sync; sent on the first page only
+    @Builder.Default
+    private List<Long> deletedStudentIds = List.of();
+    @Builder.Default
+    private List<Long> deletedTeacherIds = List.of();
+}
@@ -0,0 +1,109 @@
+package com.edutech.studify.dto.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Writes a list endpoint's ApiResponse straight to the servlet output stream,
+ * one element at a time, instead of building the whole list first. The body
+ * has the same shape as {@code ApiResponse<List<T>>} serialized by MVC.
+ *
+ * Nothing is written until the first element arrives, so access checks and
+ * not-found errors raised before that still go through GlobalExceptionHandler.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApiResponseStreamer {
+
+    private final JsonMapper jsonMapper;
+
+    /**
+     * Produces the elements of a streamed list by handing each one to the sink.
+     */
+    @FunctionalInterface
+    public interface ElementSource<T> {
+        void forEach(Consumer<T> sink);
+    }
+
+    public <T> void stream(HttpServletResponse response, String message, ElementSource<T> source) throws IOException {
+        ListWriter<T> writer = new ListWriter<>(response);
+        try {
+            source.forEach(writer);
+        } catch (RuntimeException e) {
+            if (writer.generator == null) {
+                throw e;
+            }
+            // The status line and part of the body are already out; leave the
+            // document unterminated so the client cannot mistake it for a full list.
+            log.error("Streaming response failed after {} elements", writer.count, e);
+            try {
+                writer.generator.flush();
+            } catch (RuntimeException flushFailure) {
+                // Typically the client is gone; the original failure is already logged
+                log.debug("Could not flush the partial response", flushFailure);
+            }
+            return;
+        }
+        writer.finish(message);
+    }
+
+    private final class ListWriter<T> implements Consumer<T> {
+
+        private final HttpServletResponse response;
+        private JsonGenerator generator;
+        private long count;
+
+        private ListWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void accept(T element) {
+            start();
+            generator.writePOJO(element);
+            count++;
+        }
+
+        private void start() {
+            if (generator != null) {
+                return;
+            }
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            try {
+                generator = jsonMapper.writer()
+                        .without(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+                        .createGenerator(response.getOutputStream());
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not open response stream", e);
+            }
+            generator.writeStartObject();
+            generator.writeName("data");
+            generator.writeStartArray();
+        }
+
+        private void finish(String message) {
+            start();
+            generator.writeEndArray();
+            generator.writeStringProperty("message", message);
+            generator.writeBooleanProperty("success", true);
+            generator.writePOJOProperty("timestamp", LocalDateTime.now());
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+}
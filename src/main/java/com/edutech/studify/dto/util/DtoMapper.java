@@ -1,5 +1,8 @@
 package com.edutech.studify.dto.util;
 
+import com.edutech.studify.dto.projection.CourseListRow;
+import com.edutech.studify.dto.projection.StudentListRow;
+import com.edutech.studify.dto.projection.TeacherListRow;
 import com.edutech.studify.dto.response.*;
 import com.edutech.studify.entity.*;
 import org.springframework.data.domain.Page;
@@ -75,6 +78,30 @@ public class DtoMapper {
                 .build();
     }
 
+    public StudentResponse toStudentResponse(StudentListRow row) {
+        return StudentResponse.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .fullName(row.getFirstName() + " " + row.getLastName())
+                .email(row.getEmail())
+                .phone(row.getPhone())
+                .dateOfBirth(row.getDateOfBirth())
+                .address(row.getAddress())
+                .department(row.getDepartmentId() == null ? null :
+                        StudentResponse.DepartmentSummary.builder()
+                                .id(row.getDepartmentId())
+                                .name(row.getDepartmentName())
+                                .code(row.getDepartmentCode())
+                                .build())
+                .enrollmentDate(row.getEnrollmentDate())
+                .status(row.getStatus())
+                .createdAt(row.getCreatedAt())
+                .createdBy(row.getCreatedBy())
+                .build();
+    }
+
     private StudentResponse.DepartmentSummary toDepartmentSummary(Department department) {
         return StudentResponse.DepartmentSummary.builder()
                 .id(department.getId())
@@ -109,6 +136,30 @@ public class DtoMapper {
                 .build();
     }
 
+    public TeacherResponse toTeacherResponse(TeacherListRow row) {
+        return TeacherResponse.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .firstName(row.getFirstName())
+                .lastName(row.getLastName())
+                .fullName(row.getFirstName() + " " + row.getLastName())
+                .email(row.getEmail())
+                .phone(row.getPhone())
+                .department(row.getDepartmentId() == null ? null :
+                        TeacherResponse.DepartmentSummary.builder()
+                                .id(row.getDepartmentId())
+                                .name(row.getDepartmentName())
+                                .code(row.getDepartmentCode())
+                                .build())
+                .specialization(row.getSpecialization())
+                .totalCourses(row.getCourseCount().intValue())
+                .createdAt(row.getCreatedAt())
+                .createdBy(row.getCreatedBy())
+                .lastModifiedAt(row.getUpdatedAt())
+                .lastModifiedBy(row.getUpdatedBy())
+                .build();
+    }
+
     private TeacherResponse.DepartmentSummary toTeacherDepartmentSummary(Department department) {
         return TeacherResponse.DepartmentSummary.builder()
                 .id(department.getId())
@@ -167,6 +218,37 @@ public class DtoMapper {
     }
 
 
+    public CourseResponse toCourseResponse(CourseListRow row) {
+        int enrolled = row.getEnrolledCount().intValue();
+        return CourseResponse.builder()
+                .id(row.getId())
+                .courseCode(row.getCourseCode())
+                .name(row.getName())
+                .description(row.getDescription())
+                .credits(row.getCredits())
+                .semester(row.getSemester())
+                .maxCapacity(row.getMaxCapacity())
+                .enrolledCount(enrolled)
+                .availableSeats(row.getMaxCapacity() - enrolled)
+                .isFull(enrolled >= row.getMaxCapacity())
+                .department(CourseResponse.DepartmentSummary.builder()
+                        .id(row.getDepartmentId())
+                        .name(row.getDepartmentName())
+                        .code(row.getDepartmentCode())
+                        .build())
+                .teacher(row.getTeacherId() == null ? null :
+                        CourseResponse.TeacherSummary.builder()
+                                .id(row.getTeacherId())
+                                .fullName(row.getTeacherFirstName() + " " + row.getTeacherLastName())
+                                .email(row.getTeacherEmail())
+                                .build())
+                .createdAt(row.getCreatedAt())
+                .createdBy(row.getCreatedBy())
+                .lastModifiedAt(row.getUpdatedAt())
+                .lastModifiedBy(row.getUpdatedBy())
+                .build();
+    }
+
     private CourseResponse.DepartmentSummary toCourseDepartmentSummary(Department department) {
         return CourseResponse.DepartmentSummary.builder()
                 .id(department.getId())
@@ -11,7 +11,8 @@ import java.time.LocalDate;
         uniqueConstraints = @UniqueConstraint(columnNames = {"enrollment_id", "date"}),
         indexes = {
                 @Index(name = "idx_attendance_enrollment", columnList = "enrollment_id"),
-                @Index(name = "idx_attendance_date", columnList = "date")
+                @Index(name = "idx_attendance_date", columnList = "date"),
+                @Index(name = "idx_attendance_updated_at", columnList = "updated_at")
         })
 @Getter
 @Setter
@@ -3,16 +3,22 @@ package com.edutech.studify.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "studify-courses")
 @Table(name = "courses", indexes = {
         @Index(name = "idx_course_code", columnList = "course_code"),
         @Index(name = "idx_course_department", columnList = "department_id"),
         @Index(name = "idx_course_teacher", columnList = "teacher_id"),
-        @Index(name = "idx_course_semester", columnList = "semester")
+        @Index(name = "idx_course_semester", columnList = "semester"),
+        @Index(name = "idx_course_updated_at", columnList = "updated_at")
 })
 @Getter
 @Setter
@@ -62,6 +68,10 @@ public class Course extends BaseEntity {
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
+    // When the current teacher was assigned (delta sync sends them the existing rows)
+    @Column(name = "teacher_assigned_at")
+    private LocalDateTime teacherAssignedAt;
+
     // Relationships
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default  // This tells Lombok to use the default value in builder
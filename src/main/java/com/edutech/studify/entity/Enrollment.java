@@ -13,8 +13,10 @@ import java.util.List;
         uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "course_id"}),
         indexes = {
                 @Index(name = "idx_enrollment_student", columnList = "student_id"),
-                @Index(name = "idx_enrollment_course", columnList = "course_id"),
-                @Index(name = "idx_enrollment_status", columnList = "status")
+                @Index(name = "idx_enrollment_course_status", columnList = "course_id, status"),
+                @Index(name = "idx_enrollment_student_status", columnList = "student_id, status"),
+                @Index(name = "idx_enrollment_status", columnList = "status"),
+                @Index(name = "idx_enrollment_updated_at", columnList = "updated_at")
         })
 @Getter
 @Setter
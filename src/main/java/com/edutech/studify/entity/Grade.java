@@ -11,7 +11,8 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "grades", indexes = {
-        @Index(name = "idx_grade_enrollment", columnList = "enrollment_id")
+        @Index(name = "idx_grade_enrollment", columnList = "enrollment_id"),
+        @Index(name = "idx_grade_updated_at", columnList = "updated_at")
 })
 @Getter
 @Setter
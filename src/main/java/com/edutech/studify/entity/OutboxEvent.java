@@ -0,0 +1,48 @@
+package com.edutech.studify.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A change event waiting in (or already relayed from) the transactional
+ * outbox. {@code createdBy} is the user whose write produced it.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_event_published_at", columnList = "published_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    // 1, 2, 3... per aggregate, in commit order
+    @Column(name = "aggregate_sequence", nullable = false)
+    private Long aggregateSequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private OutboxEventType eventType;
+
+    // JSON
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    // Null until the relay has handed the event to every sink
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
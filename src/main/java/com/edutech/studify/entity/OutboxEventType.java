@@ -0,0 +1,29 @@
+package com.edutech.studify.entity;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Change events published through the outbox, with the aggregate each one
+ * belongs to. Events of one aggregate are delivered in the order they were
+ * written; grades and attendance belong to their enrollment.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+    STUDENT_CREATED("Student"),
+    STUDENT_UPDATED("Student"),
+    STUDENT_DELETED("Student"),
+    STUDENT_RESTORED("Student"),
+    COURSE_CREATED("Course"),
+    COURSE_UPDATED("Course"),
+    COURSE_TEACHER_ASSIGNED("Course"),
+    COURSE_DELETED("Course"),
+    ENROLLMENT_CREATED("Enrollment"),
+    ENROLLMENT_DROPPED("Enrollment"),
+    GRADE_RECORDED("Enrollment"),
+    GRADE_DELETED("Enrollment"),
+    ATTENDANCE_RECORDED("Enrollment");
+
+    private final String aggregateType;
+}
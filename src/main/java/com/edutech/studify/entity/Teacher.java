@@ -3,6 +3,8 @@ package com.edutech.studify.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
@@ -10,6 +12,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "studify-teachers")
 @Table(name = "teachers", indexes = {
         @Index(name = "idx_teacher_email", columnList = "email"),
         @Index(name = "idx_teacher_department", columnList = "department_id")
@@ -0,0 +1,30 @@
+package com.edutech.studify.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * "Every access token issued to this user before {@code revokedBefore} is dead."
+ * One row per user, overwritten on each revocation; rows older than the access
+ * token lifetime no longer matter and are purged by the cleanup job.
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocation_revoked_before", columnList = "revoked_before")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation extends BaseEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+}
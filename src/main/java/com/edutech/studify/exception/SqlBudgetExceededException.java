@@ -0,0 +1,14 @@
+package com.edutech.studify.exception;
+
+/**
+ * Raised by SqlBudgetFilter when app.sql-budget.fail-on-exceed is set and a
+ * request runs more SQL statements than its endpoint's budget allows. Meant
+ * for tests, where a new lazy load or N+1 loop should break the build
+ * instead of logging a warning.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,273 @@
+package com.edutech.studify.idempotency;
+
+import com.edutech.studify.dto.response.GradeResponse;
+import com.edutech.studify.security.UserDetailsImpl;
+import com.edutech.studify.util.TokenHashUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Makes retries of mutating API calls safe. A request carrying an
+ * Idempotency-Key header runs once; repeating it with the same key, method,
+ * path and body returns the stored response (marked Idempotent-Replayed)
+ * without reaching the controller. Reusing a key for a different request is
+ * rejected with 422, and a retry that arrives while the first attempt is still
+ * running gets 409.
+ *
+ * Runs after JWT authentication, since keys are scoped per user. Responses are
+ * stored unless they are 5xx or 429: those are transient, and the key is
+ * released so the client's next retry runs the request again. A response that
+ * cannot be stored keeps the key claimed until its lease runs out. Requests
+ * without the header are not affected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final String API_PREFIX = "/api/v1/";
+    private static final int MAX_KEY_LENGTH = 100;
+    // API request bodies are small JSON documents; bulk attendance is the largest
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final int STORE_ATTEMPTS = 3;
+    private static final long STORE_RETRY_DELAY_MS = 100;
+
+    private final IdempotencyStore idempotencyStore;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !path(request).startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Long userId = currentUserId();
+        if (userId == null) {
+            // Unauthenticated; the authorization filter rejects it
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            reject(request, response, HttpStatus.CONTENT_TOO_LARGE,
+                    "Request body is too large for an idempotent request");
+            return;
+        }
+        String requestHash = requestHash(request, body);
+
+        IdempotencyStore.Claim claim = idempotencyStore.claim(userId, key, requestHash);
+        count(claim.getOutcome());
+        switch (claim.getOutcome()) {
+            case REPLAY -> replay(response, claim);
+            case MISMATCH -> reject(request, response, HttpStatus.UNPROCESSABLE_CONTENT,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            case IN_PROGRESS -> {
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(request, response, HttpStatus.CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+            }
+            case CLAIMED -> runAndStore(new BufferedBodyRequest(request, body), response, filterChain,
+                    userId, key, requestHash);
+        }
+    }
+
+    private void runAndStore(HttpServletRequest request,
+                             HttpServletResponse response,
+                             FilterChain filterChain,
+                             Long userId,
+                             String key,
+                             String requestHash) throws ServletException, IOException {
+        ContentCachingResponseWrapper capturing = new ContentCachingResponseWrapper(response);
+        boolean ran = false;
+        try {
+            filterChain.doFilter(request, capturing);
+            ran = true;
+        } finally {
+            int status = capturing.getStatus();
+            if (ran && status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                String responseBody = new String(capturing.getContentAsByteArray(), StandardCharsets.UTF_8);
+                complete(userId, key, requestHash, status, responseBody);
+            } else {
+                release(userId, key);
+            }
+            capturing.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * The request has already committed its changes, so the key must not be
+     * released even if its response cannot be stored: the claim stays and
+     * retries get 409 until the lease runs out, instead of running it twice.
+     */
+    private void complete(Long userId, String key, String requestHash, int status, String responseBody) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                idempotencyStore.complete(userId, key, requestHash, status, responseBody);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == STORE_ATTEMPTS) {
+                    log.error("Could not store the response for idempotency key of user {}; "
+                            + "retries are refused until its lease runs out", userId, e);
+                    return;
+                }
+                log.warn("Storing the response for idempotency key of user {} failed, retrying", userId, e);
+                try {
+                    Thread.sleep(STORE_RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void release(Long userId, String key) {
+        try {
+            idempotencyStore.release(userId, key);
+        } catch (RuntimeException e) {
+            // The lease still runs out, after which the key can be claimed again
+            log.warn("Could not release idempotency key of user {}", userId, e);
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyStore.Claim claim) throws IOException {
+        response.setStatus(claim.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (claim.getBody() != null && !claim.getBody().isEmpty()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getOutputStream().write(claim.getBody().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        HttpStatus status, String message) throws IOException {
+        GradeResponse.ErrorResponse errorResponse = GradeResponse.ErrorResponse.builder()
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private void count(IdempotencyStore.Outcome outcome) {
+        meterRegistry.counter("studify.idempotency.requests", "outcome", outcome.name().toLowerCase()).increment();
+    }
+
+    private static String requestHash(HttpServletRequest request, byte[] body) {
+        String query = request.getQueryString();
+        return TokenHashUtils.sha256(request.getMethod() + ' ' + path(request)
+                + (query == null ? "" : "?" + query) + '\n'
+                + new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /** Replays the body that was read up front to hash it. */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
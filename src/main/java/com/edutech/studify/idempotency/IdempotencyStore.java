@@ -0,0 +1,144 @@
+package com.edutech.studify.idempotency;
+
+import com.edutech.studify.entity.IdempotencyKey;
+import com.edutech.studify.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Idempotency keys and the responses they produced. The idempotency_keys
+ * table is the source of truth, shared by every instance; completed responses
+ * are also kept in a local Caffeine cache, since a retry usually arrives at
+ * the same instance within seconds and can then be answered without a query.
+ *
+ * A key is claimed with a short lease before its request runs. If the
+ * instance dies mid-request the lease runs out and a retry can claim the key
+ * again, rather than being told "in progress" until the TTL ends.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${app.idempotency.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${app.idempotency.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${app.idempotency.cache.max-entries:10000}")
+    private long maxCachedResponses;
+
+    private Cache<String, IdempotencyKey> completed;
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(maxCachedResponses)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    public enum Outcome {
+        // The key is new: run the request, then complete() or release()
+        CLAIMED,
+        // The key already has a response: send it back as is
+        REPLAY,
+        // The key was used for a different request
+        MISMATCH,
+        // The first request with this key has not finished yet
+        IN_PROGRESS
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Claim {
+        private final Outcome outcome;
+        private final Integer status;
+        private final String body;
+
+        private static Claim of(Outcome outcome) {
+            return new Claim(outcome, null, null);
+        }
+    }
+
+    @Transactional
+    public Claim claim(Long userId, String key, String requestHash) {
+        IdempotencyKey cached = completed.getIfPresent(cacheKey(userId, key));
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            return replayOrMismatch(cached, requestHash);
+        }
+
+        Instant now = Instant.now();
+        if (idempotencyKeyRepository.claim(userId, key, requestHash, now.plusMillis(leaseMs), now) == 1) {
+            return Claim.of(Outcome.CLAIMED);
+        }
+
+        // Held by a live row; the claim above waited for its insert to commit
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(userId, key);
+        if (existing.isEmpty()) {
+            // Released by a failed first request in the meantime; the client may retry
+            return Claim.of(Outcome.IN_PROGRESS);
+        }
+        IdempotencyKey record = existing.get();
+        if (record.getResponseStatus() == null) {
+            return record.getRequestHash().equals(requestHash) ? Claim.of(Outcome.IN_PROGRESS) : Claim.of(Outcome.MISMATCH);
+        }
+        completed.put(cacheKey(userId, key), record);
+        return replayOrMismatch(record, requestHash);
+    }
+
+    @Transactional
+    public void complete(Long userId, String key, String requestHash, int status, String body) {
+        Instant expiresAt = Instant.now().plusMillis(ttlMs);
+        if (idempotencyKeyRepository.complete(userId, key, status, body, expiresAt) == 0) {
+            // The lease ran out and another request took the key over; its response wins
+            log.warn("Idempotency key of user {} was taken over before its request completed", userId);
+            return;
+        }
+        completed.put(cacheKey(userId, key), IdempotencyKey.builder()
+                .userId(userId)
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .responseStatus(status)
+                .responseBody(body)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    /** Frees the key after a failed request, so a retry runs it again. */
+    @Transactional
+    public void release(Long userId, String key) {
+        idempotencyKeyRepository.release(userId, key);
+    }
+
+    @Transactional
+    public int purgeExpired() {
+        return idempotencyKeyRepository.deleteExpired(Instant.now());
+    }
+
+    private static Claim replayOrMismatch(IdempotencyKey record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return Claim.of(Outcome.MISMATCH);
+        }
+        return new Claim(Outcome.REPLAY, record.getResponseStatus(), record.getResponseBody());
+    }
+
+    private static String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+}
@@ -0,0 +1,90 @@
+package com.edutech.studify.monitoring;
+
+import com.edutech.studify.entity.EnrollmentStatus;
+import com.edutech.studify.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Domain-level meters:
+ *
+ * - studify.enrollments.active - gauge, refreshed on a schedule so a scrape
+ *   never runs a count query
+ * - studify.attendance.marked - counter of attendance records written
+ * - studify.auth.logins{outcome} - counter of login attempts
+ *
+ * Rates ("marks per minute", "logins per second") are left to the backend,
+ * e.g. rate(studify_auth_logins_total[1m]), which is exact across scrapes
+ * where an in-process per-second gauge would only sample.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final EnrollmentRepository enrollmentRepository;
+
+    private final AtomicLong activeEnrollments = new AtomicLong();
+    private Counter attendanceMarked;
+    private Counter loginSucceeded;
+    private Counter loginFailed;
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("studify.enrollments.active", activeEnrollments, AtomicLong::get)
+                .description("Enrollments currently in ACTIVE status")
+                .register(meterRegistry);
+        attendanceMarked = Counter.builder("studify.attendance.marked")
+                .description("Attendance records created or updated")
+                .register(meterRegistry);
+        loginSucceeded = loginCounter("success");
+        loginFailed = loginCounter("failure");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.metrics.business.refresh-ms:60000}",
+            initialDelayString = "${app.metrics.business.refresh-ms:60000}")
+    public void refreshGauges() {
+        activeEnrollments.set(enrollmentRepository.countByStatus(EnrollmentStatus.ACTIVE));
+    }
+
+    /** Counted once the surrounding transaction commits. */
+    public void attendanceMarked(int records) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    attendanceMarked.increment(records);
+                }
+            });
+        } else {
+            attendanceMarked.increment(records);
+        }
+    }
+
+    public void loginSucceeded() {
+        loginSucceeded.increment();
+    }
+
+    public void loginFailed() {
+        loginFailed.increment();
+    }
+
+    private Counter loginCounter(String outcome) {
+        return Counter.builder("studify.auth.logins")
+                .description("Login attempts")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,74 @@
+package com.edutech.studify.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the INFO events each application logger may emit per second; the
+ * rest are dropped before their message is formatted or queued. WARN and
+ * ERROR always pass. A one-line summary of what was dropped is written when
+ * the next second starts.
+ *
+ * Declared in logback-spring.xml for the prod profile only.
+ */
+public class InfoLogSamplingFilter extends TurboFilter {
+
+    private static final org.slf4j.Logger SUMMARY_LOG = LoggerFactory.getLogger("studify.log.sampling");
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    private String loggerPrefix = "com.edutech.studify";
+    private int maxPerSecond = 20;
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isInfoEnabled() checks; those must not use up the budget.
+        if (level != Level.INFO || format == null || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        return window.tryAcquire(logger.getName(), System.currentTimeMillis() / 1000, maxPerSecond)
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+
+    private static final class Window {
+
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger dropped = new AtomicInteger();
+
+        boolean tryAcquire(String loggerName, long now, int limit) {
+            long current = second.get();
+            if (now != current && second.compareAndSet(current, now)) {
+                count.set(0);
+                int droppedLastWindow = dropped.getAndSet(0);
+                if (droppedLastWindow > 0) {
+                    SUMMARY_LOG.info("Sampled out {} INFO event(s) from {}", droppedLastWindow, loggerName);
+                }
+            }
+            if (count.incrementAndGet() <= limit) {
+                return true;
+            }
+            dropped.incrementAndGet();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.edutech.studify.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent in JDBC statement and batch execution to the current
+ * request. Hibernate creates one instance per session from
+ * hibernate.session.events.auto.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executeEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executeEnded();
+    }
+
+    private static void executeStarted() {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.onExecuteStart();
+        }
+    }
+
+    private static void executeEnded() {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats != null) {
+            stats.onExecuteEnd();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.edutech.studify.monitoring;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL activity of the HTTP request running on the current thread. Opened and
+ * closed by {@link SqlBudgetFilter}; fed by {@link SqlStatementInspector} and
+ * {@link JdbcTimingSessionListener}. Work handed off to other threads is not
+ * counted.
+ */
+class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final int repeatThreshold;
+    private final Map<String, Integer> countsByStatement = new HashMap<>();
+    private final List<String> repeatedStatements = new ArrayList<>();
+    private int statements;
+    private long jdbcNanos;
+    private long executeStartedAt;
+
+    private RequestSqlStats(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    static RequestSqlStats begin(int repeatThreshold) {
+        RequestSqlStats stats = new RequestSqlStats(repeatThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Hibernate renders parameters as '?', so the same statement text executed
+     * over and over is one query per row of something - the N+1 signature.
+     */
+    void onStatement(String sql) {
+        statements++;
+        int seen = countsByStatement.merge(sql, 1, Integer::sum);
+        if (seen == repeatThreshold) {
+            repeatedStatements.add(sql);
+        }
+    }
+
+    void onExecuteStart() {
+        executeStartedAt = System.nanoTime();
+    }
+
+    void onExecuteEnd() {
+        if (executeStartedAt != 0) {
+            jdbcNanos += System.nanoTime() - executeStartedAt;
+            executeStartedAt = 0;
+        }
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /** Statements executed at least repeatThreshold times in this request. */
+    List<String> getRepeatedStatements() {
+        return repeatedStatements;
+    }
+
+    int countOf(String sql) {
+        return countsByStatement.getOrDefault(sql, 0);
+    }
+}
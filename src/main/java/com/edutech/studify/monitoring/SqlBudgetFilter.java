@@ -0,0 +1,151 @@
+package com.edutech.studify.monitoring;
+
+import com.edutech.studify.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL budget. Counts the statements a request makes (including
+ * the ones the security filters run before the controller) and the time spent
+ * executing them, and records both per controller handler:
+ *
+ * - studify.http.sql.statements / studify.http.sql.time - histograms
+ * - studify.http.sql.budget.exceeded - requests over their budget
+ * - studify.http.sql.repeated - requests with an N+1 suspect
+ *
+ * The budget is app.sql-budget.default, overridable per handler with
+ * app.sql-budget.endpoints[GradeController.getAllStudentGrades]=20. An
+ * overrun is logged as a warning, or - with fail-on-exceed, meant for tests -
+ * fails the request with {@link SqlBudgetExceededException}. Fail mode buffers
+ * the response until the statements are counted, so the handler's own body is
+ * discarded instead of having already been sent as a success.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED_HANDLER = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+
+    @Value("${app.sql-budget.default:30}")
+    private int defaultBudget;
+
+    @Value("${app.sql-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${app.sql-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    private Map<String, Integer> endpointBudgets;
+
+    @PostConstruct
+    void init() {
+        endpointBudgets = Binder.get(environment)
+                .bind("app.sql-budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = failOnExceed ? new ContentCachingResponseWrapper(response) : null;
+        RequestSqlStats stats = RequestSqlStats.begin(repeatThreshold);
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            RequestSqlStats.end();
+        }
+        String overrun = stats.getStatements() > 0 ? record(handlerName(request), stats) : null;
+        if (overrun == null) {
+            if (buffered != null) {
+                buffered.copyBodyToResponse();
+            }
+            return;
+        }
+        if (buffered == null) {
+            log.warn("SQL budget exceeded: {}", overrun);
+            return;
+        }
+        // Nothing has reached the client yet: drop the handler's response and fail instead
+        response.reset();
+        throw new SqlBudgetExceededException(overrun);
+    }
+
+    /** Records the request's meters; returns a description of the overrun, or null within budget. */
+    private String record(String handler, RequestSqlStats stats) {
+        DistributionSummary.builder("studify.http.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("studify.http.sql.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        for (String sql : stats.getRepeatedStatements()) {
+            log.warn("Possible N+1 in {}: statement ran {} times: {}", handler, stats.countOf(sql), sql);
+        }
+        if (!stats.getRepeatedStatements().isEmpty()) {
+            counter("studify.http.sql.repeated", "HTTP requests that repeated one SQL statement past the threshold", handler)
+                    .increment();
+        }
+
+        int budget = endpointBudgets.getOrDefault(handler, defaultBudget);
+        if (stats.getStatements() > budget) {
+            counter("studify.http.sql.budget.exceeded", "HTTP requests that ran more SQL statements than their budget", handler)
+                    .increment();
+            return String.format("%s ran %d SQL statements (budget %d, %d ms in JDBC)",
+                    handler, stats.getStatements(), budget, TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()));
+        }
+        return null;
+    }
+
+    private Counter counter(String name, String description, String handler) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .register(meterRegistry);
+    }
+
+    private static String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return UNMAPPED_HANDLER;
+    }
+}
@@ -0,0 +1,49 @@
+package com.edutech.studify.outbox;
+
+import com.edutech.studify.entity.OutboxEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * What sinks deliver downstream. Delivery is at least once: consumers should
+ * skip event ids they have already applied. Events of one aggregate carry
+ * consecutive aggregateSequence numbers: consumers that need per-aggregate
+ * order should apply them by that number, holding back on a gap, not by id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeEvent {
+
+    // Increasing in delivery order; across aggregates not necessarily commit order
+    private Long id;
+    private String type;
+    private String aggregateType;
+    private Long aggregateId;
+    // 1, 2, 3... per aggregate, in commit order
+    private Long aggregateSequence;
+    private LocalDateTime occurredAt;
+    private String actor;
+
+    @JsonRawValue
+    private String payload;
+
+    public static ChangeEvent from(OutboxEvent event) {
+        return ChangeEvent.builder()
+                .id(event.getId())
+                .type(event.getEventType().name())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .aggregateSequence(event.getAggregateSequence())
+                .occurredAt(event.getCreatedAt())
+                .actor(event.getCreatedBy())
+                .payload(event.getPayload())
+                .build();
+    }
+}
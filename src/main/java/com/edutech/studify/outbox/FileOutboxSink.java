@@ -0,0 +1,53 @@
+package com.edutech.studify.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a local file as JSON lines. A stand-in for a real broker
+ * in development and tests.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.file.path")
+public class FileOutboxSink implements OutboxSink {
+
+    private final JsonMapper jsonMapper;
+    private final Path path;
+
+    public FileOutboxSink(JsonMapper jsonMapper, @Value("${app.outbox.sinks.file.path}") Path path) {
+        this.jsonMapper = jsonMapper;
+        this.path = path;
+        log.info("Outbox events are appended to {}", path.toAbsolutePath());
+    }
+
+    @Override
+    public String getName() {
+        return "file";
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        for (ChangeEvent event : events) {
+            lines.append(jsonMapper.writeValueAsString(event)).append('\n');
+        }
+        try {
+            Files.writeString(path, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append outbox events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.edutech.studify.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to a webhook URL. Any non-2xx response or
+ * I/O error fails the batch, which is then delivered again later.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.sinks.http.url")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final JsonMapper jsonMapper;
+    private final RestClient restClient;
+
+    public HttpOutboxSink(JsonMapper jsonMapper,
+                          @Value("${app.outbox.sinks.http.url}") String url,
+                          @Value("${app.outbox.sinks.http.timeout-ms:5000}") int timeoutMs) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.jsonMapper = jsonMapper;
+        this.restClient = RestClient.builder()
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .build();
+        log.info("Outbox events are posted to {}", url);
+    }
+
+    @Override
+    public String getName() {
+        return "http";
+    }
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonMapper.writeValueAsString(events))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
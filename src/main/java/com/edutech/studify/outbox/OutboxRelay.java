@@ -0,0 +1,155 @@
+package com.edutech.studify.outbox;
+
+import com.edutech.studify.entity.OutboxEvent;
+import com.edutech.studify.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to every OutboxSink. Each batch is read, handed to the
+ * sinks and marked published in one transaction that also holds a Postgres
+ * advisory lock, so with several instances only one relays at a time and
+ * events go out in id order. Ids are assigned at insert rather than commit, so
+ * id order is only best effort across transactions; within one aggregate,
+ * OutboxWriter serializes writers on the aggregate's sequence row, and
+ * consumers check ChangeEvent.aggregateSequence. A failing sink rolls the batch back; it is
+ * delivered again, to every sink, once the relay has backed off (doubling
+ * from the relay interval up to app.outbox.relay.max-backoff-ms), so an
+ * outage does not flood the healthy sinks with redeliveries.
+ *
+ * Meters:
+ * - studify.outbox.lag - seconds since the oldest undelivered event was written
+ * - studify.outbox.pending - undelivered events
+ * - studify.outbox.published - events delivered to all sinks
+ * - studify.outbox.failures{sink} - batches a sink failed to take
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true")
+public class OutboxRelay {
+
+    // Arbitrary, but fixed: every instance must use the same key
+    private static final long RELAY_LOCK_KEY = 0x5354_5544_4f42_5831L;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.outbox.relay.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${app.outbox.relay.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private Counter published;
+    private int consecutiveFailures;
+    private long retryAtMillis;
+
+    @PostConstruct
+    void registerMeters() {
+        Gauge.builder("studify.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Seconds since the oldest undelivered outbox event was written")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("studify.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet delivered")
+                .register(meterRegistry);
+        published = Counter.builder("studify.outbox.published")
+                .description("Outbox events delivered to all sinks")
+                .register(meterRegistry);
+        if (sinks.isEmpty()) {
+            log.warn("Outbox is enabled but no sink is configured; events will pile up undelivered");
+        } else {
+            log.info("Outbox relay delivering to {}", sinks.stream().map(OutboxSink::getName).collect(Collectors.toList()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:1000}")
+    public void relay() {
+        if (!sinks.isEmpty() && System.currentTimeMillis() >= retryAtMillis) {
+            drain();
+        }
+        refreshBacklog();
+    }
+
+    private void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer delivered;
+            try {
+                delivered = transactionTemplate.execute(status -> deliverBatch());
+            } catch (RuntimeException e) {
+                long backoffMs = Math.min(maxBackoffMs, intervalMs << Math.min(consecutiveFailures, 16));
+                consecutiveFailures++;
+                retryAtMillis = System.currentTimeMillis() + backoffMs;
+                log.warn("Outbox relay failed ({} in a row), retrying in {} ms: {}",
+                        consecutiveFailures, backoffMs, e.getMessage());
+                return;
+            }
+            consecutiveFailures = 0;
+            if (delivered == null || delivered < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int deliverBatch() {
+        if (!outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)) {
+            // Another instance is relaying
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.findPending(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ChangeEvent> events = batch.stream().map(ChangeEvent::from).collect(Collectors.toList());
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (RuntimeException e) {
+                meterRegistry.counter("studify.outbox.failures", "sink", sink.getName()).increment();
+                throw e;
+            }
+        }
+
+        outboxEventRepository.markPublished(
+                batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()), Instant.now());
+        published.increment(batch.size());
+        return batch.size();
+    }
+
+    private void refreshBacklog() {
+        Object[] backlog = outboxEventRepository.findPendingBacklog().get(0);
+        pending.set(((Number) backlog[0]).longValue());
+        lagSeconds.set(backlog[1] instanceof LocalDateTime oldest
+                ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toSeconds())
+                : 0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.edutech.studify.outbox;
+
+import java.util.List;
+
+/**
+ * A downstream destination for change events. Every sink bean receives every
+ * event, in id order, a batch at a time. Throwing leaves the batch in the
+ * outbox to be delivered again - to every sink - on a later run.
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    void publish(List<ChangeEvent> events);
+}
@@ -0,0 +1,42 @@
+package com.edutech.studify.outbox;
+
+import com.edutech.studify.entity.OutboxEvent;
+import com.edutech.studify.entity.OutboxEventType;
+import com.edutech.studify.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Records change events in the outbox. Must be called inside the service
+ * transaction that makes the change, so the event is committed if and only if
+ * the change is; OutboxRelay delivers it afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.outbox.enabled:false}")
+    private boolean enabled;
+
+    /** The payload is serialized as is; pass the response DTO, not the entity. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, Long aggregateId, Object payload) {
+        if (!enabled) {
+            return;
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(type.getAggregateType())
+                .aggregateId(aggregateId)
+                .aggregateSequence(outboxEventRepository.nextAggregateSequence(type.getAggregateType(), aggregateId))
+                .eventType(type)
+                .payload(jsonMapper.writeValueAsString(payload))
+                .build());
+    }
+}
@@ -2,20 +2,29 @@ package com.edutech.studify.repository;
 
 import com.edutech.studify.entity.Attendance;
 import com.edutech.studify.entity.AttendanceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
+    // Rows per round trip when streaming; the driver only honours it inside a transaction
+    String STREAM_FETCH_SIZE = "500";
+
     // Find attendance by enrollment and date
     Optional<Attendance> findByEnrollmentIdAndDate(Long enrollmentId, LocalDate date);
 
@@ -28,38 +37,77 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     // Find attendance by enrollment with pagination
     Page<Attendance> findByEnrollmentId(Long enrollmentId, Pageable pageable);
 
-    // Find attendance by student
-    @Query("SELECT a FROM Attendance a WHERE a.enrollment.student.id = :studentId")
-    List<Attendance> findByStudentId(@Param("studentId") Long studentId);
-
     // Find attendance by student with pagination
     @Query("SELECT a FROM Attendance a WHERE a.enrollment.student.id = :studentId")
     Page<Attendance> findByStudentId(@Param("studentId") Long studentId, Pageable pageable);
 
-    // Find attendance by student and course
-    @Query("SELECT a FROM Attendance a WHERE a.enrollment.student.id = :studentId AND a.enrollment.course.id = :courseId")
-    List<Attendance> findByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
-
     // Find attendance by course
     @Query("SELECT a FROM Attendance a WHERE a.enrollment.course.id = :courseId")
     List<Attendance> findByCourseId(@Param("courseId") Long courseId);
 
-    // Find attendance by course and date
-    @Query("SELECT a FROM Attendance a WHERE a.enrollment.course.id = :courseId AND a.date = :date")
-    List<Attendance> findByCourseIdAndDate(@Param("courseId") Long courseId, @Param("date") LocalDate date);
-
-    // Find attendance by student, course, and date range
-    @Query("SELECT a FROM Attendance a WHERE " +
-            "a.enrollment.student.id = :studentId AND " +
-            "a.enrollment.course.id = :courseId AND " +
-            "a.date BETWEEN :startDate AND :endDate")
-    List<Attendance> findByStudentIdAndCourseIdAndDateRange(
+    // Streamed variants for the unpaginated list endpoints: read through a
+    // cursor (needs an open read-only transaction) and close the stream after use.
+    String STREAM_SELECT = "SELECT a FROM Attendance a " +
+            "JOIN FETCH a.enrollment e JOIN FETCH e.student JOIN FETCH e.course LEFT JOIN FETCH e.grade ";
+
+    @Query(STREAM_SELECT + "WHERE e.student.id = :studentId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Attendance> streamByStudentId(@Param("studentId") Long studentId);
+
+    @Query(STREAM_SELECT + "WHERE e.student.id = :studentId AND e.course.id = :courseId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Attendance> streamByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Query(STREAM_SELECT + "WHERE e.student.id = :studentId AND e.course.id = :courseId " +
+            "AND a.date BETWEEN :startDate AND :endDate")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Attendance> streamByStudentIdAndCourseIdAndDateRange(
             @Param("studentId") Long studentId,
             @Param("courseId") Long courseId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
 
+    @Query(STREAM_SELECT + "WHERE e.course.id = :courseId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Attendance> streamByCourseId(@Param("courseId") Long courseId);
+
+    @Query(STREAM_SELECT + "WHERE e.course.id = :courseId AND a.date = :date")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Attendance> streamByCourseIdAndDate(@Param("courseId") Long courseId, @Param("date") LocalDate date);
+
+    // Delta sync page, windowed and scoped like EnrollmentRepository.findChangedSince
+    @Query("SELECT a FROM Attendance a JOIN FETCH a.enrollment e JOIN FETCH e.student s JOIN FETCH e.course c " +
+            "LEFT JOIN FETCH e.grade LEFT JOIN c.teacher t " +
+            "WHERE (a.updatedAt > :since OR c.id IN :visibleCourseIds) AND a.updatedAt <= :until AND " +
+            "(a.updatedAt > :afterUpdatedAt OR (a.updatedAt = :afterUpdatedAt AND a.id > :afterId)) AND " +
+            EnrollmentRepository.SYNC_SCOPE + " ORDER BY a.updatedAt, a.id")
+    List<Attendance> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("visibleCourseIds") List<Long> visibleCourseIds,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") Long afterId,
+            @Param("teacherUserId") Long teacherUserId,
+            @Param("studentUserId") Long studentUserId,
+            Limit limit
+    );
+
     // Find attendance by date range
     @Query("SELECT a FROM Attendance a WHERE a.date BETWEEN :startDate AND :endDate")
     List<Attendance> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
@@ -1,17 +1,28 @@
 package com.edutech.studify.repository;
 
+import com.edutech.studify.dto.projection.CourseListRow;
 import com.edutech.studify.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    // Code lookups are served from the query cache; any write to the table invalidates the region.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "studify-code-lookups")
+    })
     Optional<Course> findByCourseCode(String courseCode);
     boolean existsByCourseCode(String courseCode);
 
@@ -21,17 +32,37 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     List<Course> findByTeacherId(Long teacherId);
 
+    @Query("SELECT c.id FROM Course c WHERE c.teacher.id = :teacherId")
+    List<Long> findIdsByTeacherId(@Param("teacherId") Long teacherId);
+
     @Query("SELECT c FROM Course c WHERE " +
             "LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
             "LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Course> searchCourses(@Param("search") String search, Pageable pageable);
 
-    @Query("SELECT c FROM Course c WHERE " +
-            "(:search IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(c.courseCode) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+    // Read-only list rows: a constructor projection with the active enrollment count aggregated in SQL
+
+    String ACTIVE_ENROLLMENTS = "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id AND e.status = 'ACTIVE')";
+
+    String COURSE_ROW = "SELECT new com.edutech.studify.dto.projection.CourseListRow(" +
+            "c.id, c.courseCode, c.name, c.description, c.credits, c.semester, c.maxCapacity, " + ACTIVE_ENROLLMENTS + ", " +
+            "d.id, d.name, d.code, t.id, t.firstName, t.lastName, t.email, " +
+            "c.createdAt, c.createdBy, c.updatedAt, c.updatedBy) " +
+            "FROM Course c JOIN c.department d LEFT JOIN c.teacher t";
+
+    String COURSE_FILTERS = " WHERE " +
+            "(:search IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', CAST(:search AS String), '%')) OR LOWER(c.courseCode) LIKE LOWER(CONCAT('%', CAST(:search AS String), '%'))) AND " +
             "(:departmentId IS NULL OR c.department.id = :departmentId) AND " +
             "(:semester IS NULL OR c.semester = :semester) AND " +
-            "(:teacherId IS NULL OR c.teacher.id = :teacherId)")
-    Page<Course> searchCoursesWithFilters(
+            "(:teacherId IS NULL OR c.teacher.id = :teacherId)";
+
+    String AVAILABLE_FILTER = " WHERE " + ACTIVE_ENROLLMENTS + " < c.maxCapacity";
+
+    @Query(value = COURSE_ROW, countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseListRow> findCourseRows(Pageable pageable);
+
+    @Query(value = COURSE_ROW + COURSE_FILTERS, countQuery = "SELECT COUNT(c) FROM Course c" + COURSE_FILTERS)
+    Page<CourseListRow> searchCourseRows(
             @Param("search") String search,
             @Param("departmentId") Long departmentId,
             @Param("semester") String semester,
@@ -39,11 +70,46 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
             Pageable pageable
     );
 
+    @Query(value = COURSE_ROW + AVAILABLE_FILTER, countQuery = "SELECT COUNT(c) FROM Course c" + AVAILABLE_FILTER)
+    Page<CourseListRow> findAvailableCourseRows(Pageable pageable);
+
+    // ETag versions (see ETagUtils): everything CourseResponse is built from,
+    // i.e. the course, department and teacher rows and the active enrollment count
+
+    String COURSE_VERSION = "SELECT c.id, c.updatedAt, d.updatedAt, t.updatedAt, " + ACTIVE_ENROLLMENTS + " " +
+            "FROM Course c JOIN c.department d LEFT JOIN c.teacher t";
+
+    @Query(COURSE_VERSION + " WHERE c.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+
+    @Query(COURSE_VERSION + " WHERE c.courseCode = :courseCode")
+    List<Object[]> findVersionByCourseCode(@Param("courseCode") String courseCode);
+
+    // Delta sync page: courses edited in (since, until], or whose enrolled count may have
+    // moved, in (updatedAt, id) order after the position
+    @Query(COURSE_ROW + " WHERE (c.updatedAt > :since OR EXISTS " +
+            "(SELECT e FROM Enrollment e WHERE e.course.id = c.id AND e.updatedAt > :since AND e.updatedAt <= :until)) " +
+            "AND c.updatedAt <= :until AND " +
+            "(c.updatedAt > :afterUpdatedAt OR (c.updatedAt = :afterUpdatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.updatedAt, c.id")
+    List<CourseListRow> findCourseRowsChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
+    // Courses that became visible to a teacher in (since, until]
+    @Query("SELECT c.id FROM Course c WHERE c.teacher.user.id = :teacherUserId " +
+            "AND c.teacherAssignedAt > :since AND c.teacherAssignedAt <= :until")
+    List<Long> findIdsAssignedToTeacherBetween(
+            @Param("teacherUserId") Long teacherUserId,
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until
+    );
+
     long countByDepartmentId(Long departmentId);
     long countByTeacherId(Long teacherId);
     long countBySemester(String semester);
-
-    @Query("SELECT c FROM Course c WHERE " +
-            "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id AND e.status = 'ACTIVE') < c.maxCapacity")
-    Page<Course> findAvailableCourses(Pageable pageable);
 }
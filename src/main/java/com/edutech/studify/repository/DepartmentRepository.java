@@ -1,14 +1,23 @@
 package com.edutech.studify.repository;
 
 import com.edutech.studify.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByName(String name);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "studify-code-lookups")
+    })
     Optional<Department> findByCode(String code);
     boolean existsByName(String name);
     boolean existsByCode(String code);
@@ -21,4 +30,18 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
     @Query("SELECT COUNT(c) FROM Course c WHERE c.department.id = :departmentId")
     long countCoursesByDepartmentId(Long departmentId);
+
+    // ETag versions (see ETagUtils): each department row with the three counts its response shows
+
+    String DEPARTMENT_VERSION = "SELECT d.id, d.updatedAt, " +
+            "(SELECT COUNT(s) FROM Student s WHERE s.department.id = d.id AND s.deleted = false), " +
+            "(SELECT COUNT(t) FROM Teacher t WHERE t.department.id = d.id AND t.deleted = false), " +
+            "(SELECT COUNT(c) FROM Course c WHERE c.department.id = d.id) " +
+            "FROM Department d";
+
+    @Query(DEPARTMENT_VERSION + " WHERE d.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+
+    @Query(DEPARTMENT_VERSION + " ORDER BY d.id")
+    List<Object[]> findAllVersions();
 }
\ No newline at end of file
@@ -2,14 +2,20 @@ package com.edutech.studify.repository;
 
 import com.edutech.studify.entity.Enrollment;
 import com.edutech.studify.entity.EnrollmentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -34,5 +40,37 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     @Query("SELECT e FROM Enrollment e WHERE e.course.id = :courseId AND e.status = 'ACTIVE'")
     List<Enrollment> findActiveEnrollmentsByCourseId(@Param("courseId") Long courseId);
 
+    // Streamed variant for the unpaginated list endpoint (see AttendanceRepository)
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student JOIN FETCH e.course c " +
+            "LEFT JOIN FETCH c.teacher LEFT JOIN FETCH e.grade " +
+            "WHERE c.id = :courseId AND e.status = 'ACTIVE'")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AttendanceRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Enrollment> streamActiveEnrollmentsByCourseId(@Param("courseId") Long courseId);
+
     long countByStatus(EnrollmentStatus status);
+
+    // Delta sync: what one user may see, given the aliases s (student),
+    // c (course) and t (its teacher, left-joined). Null ids mean no restriction.
+    String SYNC_SCOPE = "(:teacherUserId IS NULL OR t.user.id = :teacherUserId) AND " +
+            "(:studentUserId IS NULL OR s.user.id = :studentUserId)";
+
+    /** One page of a delta sync: changed in (since, until] or in a newly visible course, after the position. */
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student s JOIN FETCH e.course c " +
+            "LEFT JOIN FETCH c.teacher t LEFT JOIN FETCH e.grade " +
+            "WHERE (e.updatedAt > :since OR c.id IN :visibleCourseIds) AND e.updatedAt <= :until AND " +
+            "(e.updatedAt > :afterUpdatedAt OR (e.updatedAt = :afterUpdatedAt AND e.id > :afterId)) AND " +
+            SYNC_SCOPE + " ORDER BY e.updatedAt, e.id")
+    List<Enrollment> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("visibleCourseIds") List<Long> visibleCourseIds,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") Long afterId,
+            @Param("teacherUserId") Long teacherUserId,
+            @Param("studentUserId") Long studentUserId,
+            Limit limit
+    );
 }
@@ -1,24 +1,27 @@
 package com.edutech.studify.repository;
 
 import com.edutech.studify.entity.Grade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
     Optional<Grade> findByEnrollmentId(Long enrollmentId);
     boolean existsByEnrollmentId(Long enrollmentId);
 
-    @Query("SELECT g FROM Grade g WHERE g.enrollment.student.id = :studentId")
-    List<Grade> findByStudentId(@Param("studentId") Long studentId);
-
     @Query("SELECT g FROM Grade g WHERE g.enrollment.student.id = :studentId")
     Page<Grade> findByStudentId(@Param("studentId") Long studentId, Pageable pageable);
 
@@ -31,6 +34,40 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     @Query("SELECT g FROM Grade g WHERE g.enrollment.student.id = :studentId AND g.enrollment.course.semester = :semester")
     List<Grade> findByStudentIdAndSemester(@Param("studentId") Long studentId, @Param("semester") String semester);
 
+    // Streamed variants for the unpaginated list endpoint (see AttendanceRepository)
+    @Query("SELECT g FROM Grade g JOIN FETCH g.enrollment e JOIN FETCH e.student JOIN FETCH e.course " +
+            "WHERE e.student.id = :studentId")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AttendanceRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Grade> streamByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT g FROM Grade g JOIN FETCH g.enrollment e JOIN FETCH e.student JOIN FETCH e.course " +
+            "WHERE e.student.id = :studentId AND e.course.semester = :semester")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AttendanceRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Grade> streamByStudentIdAndSemester(@Param("studentId") Long studentId, @Param("semester") String semester);
+
+    // Delta sync page, windowed and scoped like EnrollmentRepository.findChangedSince
+    @Query("SELECT g FROM Grade g JOIN FETCH g.enrollment e JOIN FETCH e.student s JOIN FETCH e.course c " +
+            "LEFT JOIN c.teacher t " +
+            "WHERE (g.updatedAt > :since OR c.id IN :visibleCourseIds) AND g.updatedAt <= :until AND " +
+            "(g.updatedAt > :afterUpdatedAt OR (g.updatedAt = :afterUpdatedAt AND g.id > :afterId)) AND " +
+            EnrollmentRepository.SYNC_SCOPE + " ORDER BY g.updatedAt, g.id")
+    List<Grade> findChangedSince(
+            @Param("since") LocalDateTime since,
+            @Param("until") LocalDateTime until,
+            @Param("visibleCourseIds") List<Long> visibleCourseIds,
+            @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") Long afterId,
+            @Param("teacherUserId") Long teacherUserId,
+            @Param("studentUserId") Long studentUserId,
+            Limit limit
+    );
+
     @Query("SELECT AVG(g.gradePoint) FROM Grade g WHERE g.enrollment.student.id = :studentId")
     BigDecimal calculateGPAByStudentId(@Param("studentId") Long studentId);
 
@@ -0,0 +1,59 @@
+package com.edutech.studify.repository;
+
+import com.edutech.studify.entity.IdempotencyKey;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    Optional<IdempotencyKey> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    /**
+     * Claims the key for a new request: inserts it, or takes over a row whose
+     * lease or TTL has run out. Returns 0 when a live row already holds the
+     * key - concurrent duplicates race on the unique constraint, so exactly
+     * one of them gets 1. Declares its table as the native query space, so
+     * Hibernate does not clear the whole second-level cache after it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, expires_at, created_at, updated_at) " +
+            "VALUES (:userId, :key, :requestHash, :leaseUntil, now(), now()) " +
+            "ON CONFLICT (user_id, idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+            "    response_status = NULL, response_body = NULL, expires_at = EXCLUDED.expires_at, updated_at = now() " +
+            "WHERE idempotency_keys.expires_at < :now",
+            nativeQuery = true)
+    int claim(@Param("userId") Long userId,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("leaseUntil") Instant leaseUntil,
+              @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseStatus = :status, k.responseBody = :body, k.expiresAt = :expiresAt " +
+            "WHERE k.userId = :userId AND k.idempotencyKey = :key AND k.responseStatus IS NULL")
+    int complete(@Param("userId") Long userId,
+                 @Param("key") String key,
+                 @Param("status") int status,
+                 @Param("body") String body,
+                 @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k " +
+            "WHERE k.userId = :userId AND k.idempotencyKey = :key AND k.responseStatus IS NULL")
+    int release(@Param("userId") Long userId, @Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,54 @@
+package com.edutech.studify.repository;
+
+import com.edutech.studify.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Transaction-scoped advisory lock, so only one instance relays at a time
+     * and events keep their order. Released on commit or rollback.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    /**
+     * Takes the aggregate's next event sequence number. The counter row stays
+     * locked until the caller commits, so concurrent writers of one aggregate
+     * are numbered (and commit) one after the other.
+     */
+    @Query(value = "INSERT INTO outbox_aggregate_sequences (aggregate_type, aggregate_id, last_sequence) " +
+            "VALUES (:aggregateType, :aggregateId, 1) " +
+            "ON CONFLICT (aggregate_type, aggregate_id) " +
+            "DO UPDATE SET last_sequence = outbox_aggregate_sequences.last_sequence + 1 " +
+            "RETURNING last_sequence",
+            nativeQuery = true)
+    long nextAggregateSequence(@Param("aggregateType") String aggregateType,
+                               @Param("aggregateId") Long aggregateId);
+
+    // Served by the partial idx_outbox_event_pending index
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findPending(Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :now WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /** Pending event count and the creation time of the oldest one (null when none). */
+    @Query("SELECT COUNT(e), MIN(e.createdAt) FROM OutboxEvent e WHERE e.publishedAt IS NULL")
+    List<Object[]> findPendingBacklog();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -2,9 +2,13 @@ package com.edutech.studify.repository;
 
 import com.edutech.studify.entity.RefreshToken;
 import com.edutech.studify.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,22 +21,70 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
 
     Optional<RefreshToken> findByTokenHash(String tokenHash);
 
+    /** Keyset page of (id, tokenHash) pairs, used to load the in-memory hash index. */
+    @Query("SELECT rt.id, rt.tokenHash FROM RefreshToken rt WHERE rt.id > :afterId ORDER BY rt.id")
+    List<Object[]> findTokenHashesAfter(@Param("afterId") long afterId, Limit limit);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
     int deleteByUser(@Param("user") User user);
 
-    @Query("SELECT rt FROM RefreshToken rt " +
-            "WHERE rt.user = :user AND rt.revoked = false AND rt.expiryDate > :now " +
-            "ORDER BY rt.createdAt ASC")
-    List<RefreshToken> findActiveSessionsByUser(@Param("user") User user, @Param("now") Instant now);
+    /**
+     * Revokes every active session of the user except the {@code keep} newest
+     * ones - the whole session-limit check in a single statement. The native
+     * space hint keeps Hibernate from treating it as touching every table and
+     * clearing the whole second-level cache.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "UPDATE refresh_tokens SET revoked = true, updated_at = now() " +
+            "WHERE user_id = :userId AND revoked = false AND expiry_date > :now " +
+            "AND id NOT IN (SELECT id FROM refresh_tokens " +
+            "    WHERE user_id = :userId AND revoked = false AND expiry_date > :now " +
+            "    ORDER BY created_at DESC, id DESC LIMIT :keep)",
+            nativeQuery = true)
+    int revokeSessionsBeyondNewest(@Param("userId") Long userId,
+                                   @Param("keep") int keep,
+                                   @Param("now") Instant now);
+
+    /**
+     * Atomically marks a live token as used and returns its owner in the same
+     * round trip. Concurrent refreshes with the same token serialize on the row
+     * lock - only one of them gets the user back.
+     */
+    @Query(value = "UPDATE refresh_tokens rt SET revoked = true, updated_at = now() " +
+            "FROM users u WHERE u.id = rt.user_id " +
+            "AND rt.token_hash = :tokenHash AND rt.revoked = false AND rt.expiry_date > :now " +
+            "RETURNING u.*",
+            nativeQuery = true)
+    Optional<User> consumeActiveToken(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true WHERE rt.tokenHash = :tokenHash AND rt.revoked = false")
+    int revokeByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Lowest id that could currently be purged. Served by the partial index on
+     * revoked rows plus the expiry_date index, so the purge never has to walk
+     * the long tail of live tokens at the start of the table.
+     */
+    @Query("SELECT MIN(rt.id) FROM RefreshToken rt WHERE rt.revoked = true OR rt.expiryDate < :now")
+    Optional<Long> findMinStaleTokenId(@Param("now") Instant now);
+
+    @Query("SELECT MAX(rt.id) FROM RefreshToken rt")
+    Optional<Long> findMaxTokenId();
 
     /**
-     * Hard-deletes any token that's no longer usable - either revoked
-     * (rotated, logged out, or evicted) or naturally expired. Run
-     * periodically by RefreshTokenCleanupJob to stop the table growing
-     * unbounded.
+     * Hard-deletes tokens that are no longer usable - either revoked
+     * (rotated, logged out, or evicted) or naturally expired - inside one
+     * bounded id range. RefreshTokenServiceImpl walks the table range by
+     * range so no single statement holds locks or generates WAL for the
+     * whole backlog.
      */
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.revoked = true OR rt.expiryDate < :now")
-    int deleteStaleTokens(@Param("now") Instant now);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id > :afterId AND rt.id <= :upToId " +
+            "AND (rt.revoked = true OR rt.expiryDate < :now)")
+    int deleteStaleTokensInRange(@Param("afterId") long afterId,
+                                 @Param("upToId") long upToId,
+                                 @Param("now") Instant now);
 }
\ No newline at end of file
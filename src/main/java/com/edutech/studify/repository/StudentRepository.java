@@ -1,5 +1,6 @@
 package com.edutech.studify.repository;
 
+import com.edutech.studify.dto.projection.StudentListRow;
 import com.edutech.studify.entity.Student;
 import com.edutech.studify.entity.StudentStatus;
 import org.springframework.data.domain.Page;
@@ -8,12 +9,19 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByEmail(String email);
     Optional<Student> findByUserId(Long userId);
+
+    // UserProfileCache: the student linked to a user and its department
+    @Query("SELECT s.id, d.id FROM Student s LEFT JOIN s.department d WHERE s.user.id = :userId")
+    List<Object[]> findProfileRowByUserId(@Param("userId") Long userId);
+
     boolean existsByEmail(String email);
 
     Page<Student> findByDepartmentId(Long departmentId, Pageable pageable);
@@ -25,11 +33,23 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
             "LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Student> searchStudents(@Param("search") String search, Pageable pageable);
 
-    @Query("SELECT s FROM Student s WHERE " +
-            "(:search IS NULL OR LOWER(CONCAT(s.firstName, ' ', s.lastName)) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(s.email) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+    // Read-only list rows: a constructor projection, so no managed entities or snapshots
+
+    String STUDENT_ROW = "SELECT new com.edutech.studify.dto.projection.StudentListRow(" +
+            "s.id, s.user.id, s.firstName, s.lastName, s.email, s.phone, s.dateOfBirth, s.address, " +
+            "d.id, d.name, d.code, s.enrollmentDate, s.status, s.createdAt, s.createdBy, s.updatedAt, s.updatedBy) " +
+            "FROM Student s LEFT JOIN s.department d";
+
+    String STUDENT_FILTERS = " WHERE " +
+            "(:search IS NULL OR LOWER(CONCAT(s.firstName, ' ', s.lastName)) LIKE LOWER(CONCAT('%', CAST(:search AS String), '%')) OR LOWER(s.email) LIKE LOWER(CONCAT('%', CAST(:search AS String), '%'))) AND " +
             "(:departmentId IS NULL OR s.department.id = :departmentId) AND " +
-            "(:status IS NULL OR s.status = :status)")
-    Page<Student> searchStudentsWithFilters(
+            "(:status IS NULL OR s.status = :status)";
+
+    @Query(value = STUDENT_ROW, countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<StudentListRow> findStudentRows(Pageable pageable);
+
+    @Query(value = STUDENT_ROW + STUDENT_FILTERS, countQuery = "SELECT COUNT(s) FROM Student s" + STUDENT_FILTERS)
+    Page<StudentListRow> searchStudentRows(
             @Param("search") String search,
             @Param("departmentId") Long departmentId,
             @Param("status") StudentStatus status,
@@ -39,6 +59,21 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     long countByStatus(StudentStatus status);
     long countByDepartmentId(Long departmentId);
 
+    // Tombstones for delta sync. @SQLRestriction hides soft-deleted rows from
+    // JPQL, so these read the table directly.
+    @Query(value = "SELECT s.id FROM students s WHERE s.deleted = true AND s.deleted_at > :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    @Query(value = "SELECT DISTINCT s.id FROM students s " +
+            "JOIN enrollments e ON e.student_id = s.id " +
+            "JOIN courses c ON c.id = e.course_id " +
+            "JOIN teachers t ON t.id = c.teacher_id " +
+            "WHERE s.deleted = true AND s.deleted_at > :since AND t.user_id = :teacherUserId", nativeQuery = true)
+    List<Long> findIdsDeletedSinceInCoursesOf(
+            @Param("since") LocalDateTime since,
+            @Param("teacherUserId") Long teacherUserId
+    );
+
     @Query("SELECT s FROM Student s WHERE s.deleted = true")
     Page<Student> findDeletedStudents(Pageable pageable);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.edutech.studify.repository;
 
+import com.edutech.studify.dto.projection.TeacherListRow;
 import com.edutech.studify.entity.Teacher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -7,12 +8,19 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
     Optional<Teacher> findByUserId(Long userId);
+
+    // UserProfileCache: the teacher linked to a user and its department
+    @Query("SELECT t.id, d.id FROM Teacher t LEFT JOIN t.department d WHERE t.user.id = :userId")
+    List<Object[]> findProfileRowByUserId(@Param("userId") Long userId);
+
     boolean existsByEmail(String email);
 
     Page<Teacher> findByDepartmentId(Long departmentId, Pageable pageable);
@@ -22,17 +30,39 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
             "LOWER(t.email) LIKE LOWER(CONCAT('%', :search, '%'))")
     Page<Teacher> searchTeachers(@Param("search") String search, Pageable pageable);
 
-    @Query("SELECT t FROM Teacher t WHERE " +
-            "(:search IS NULL OR LOWER(CONCAT(t.firstName, ' ', t.lastName)) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(t.email) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
-            "(:departmentId IS NULL OR t.department.id = :departmentId)")
-    Page<Teacher> searchTeachersWithFilters(
+    // Read-only list rows: a constructor projection with the course count aggregated in SQL
+
+    String TEACHER_ROW = "SELECT new com.edutech.studify.dto.projection.TeacherListRow(" +
+            "t.id, t.user.id, t.firstName, t.lastName, t.email, t.phone, d.id, d.name, d.code, t.specialization, " +
+            "(SELECT COUNT(c) FROM Course c WHERE c.teacher.id = t.id), " +
+            "t.createdAt, t.createdBy, t.updatedAt, t.updatedBy) " +
+            "FROM Teacher t LEFT JOIN t.department d";
+
+    String TEACHER_FILTERS = " WHERE " +
+            "(:search IS NULL OR LOWER(CONCAT(t.firstName, ' ', t.lastName)) LIKE LOWER(CONCAT('%', CAST(:search AS String), '%')) OR LOWER(t.email) LIKE LOWER(CONCAT('%', CAST(:search AS String), '%'))) AND " +
+            "(:departmentId IS NULL OR t.department.id = :departmentId)";
+
+    @Query(value = TEACHER_ROW, countQuery = "SELECT COUNT(t) FROM Teacher t")
+    Page<TeacherListRow> findTeacherRows(Pageable pageable);
+
+    @Query(value = TEACHER_ROW + TEACHER_FILTERS, countQuery = "SELECT COUNT(t) FROM Teacher t" + TEACHER_FILTERS)
+    Page<TeacherListRow> searchTeacherRows(
             @Param("search") String search,
             @Param("departmentId") Long departmentId,
             Pageable pageable
     );
 
+    // ETag version (see ETagUtils): the teacher and department rows and the course count
+    @Query("SELECT t.id, t.updatedAt, d.updatedAt, (SELECT COUNT(c) FROM Course c WHERE c.teacher.id = t.id) " +
+            "FROM Teacher t LEFT JOIN t.department d WHERE t.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
+
     long countByDepartmentId(Long departmentId);
 
+    // Tombstones for delta sync (native: @SQLRestriction hides soft-deleted rows from JPQL)
+    @Query(value = "SELECT t.id FROM teachers t WHERE t.deleted = true AND t.deleted_at > :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
     @Query("SELECT t FROM Teacher t WHERE t.deleted = true")
     Page<Teacher> findDeletedTeachers(Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.edutech.studify.repository;
+
+import com.edutech.studify.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findByRevokedBeforeAfter(Instant cutoff);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation tr WHERE tr.revokedBefore < :cutoff")
+    int deleteRevokedBefore(@Param("cutoff") Instant cutoff);
+}
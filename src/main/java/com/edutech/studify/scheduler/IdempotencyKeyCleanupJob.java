@@ -0,0 +1,21 @@
+package com.edutech.studify.scheduler;
+
+import com.edutech.studify.idempotency.IdempotencyStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyCleanupJob {
+
+    private final IdempotencyStore idempotencyStore;
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 15 * * * *}")
+    public void run() {
+        int removed = idempotencyStore.purgeExpired();
+        log.info("Idempotency key cleanup: removed {} expired key(s).", removed);
+    }
+}
@@ -0,0 +1,30 @@
+package com.edutech.studify.scheduler;
+
+import com.edutech.studify.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxCleanupJob {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    // Delivered events are kept this long, for replays and debugging
+    @Value("${app.outbox.retention-ms:604800000}")
+    private long retentionMs;
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void run() {
+        int removed = outboxEventRepository.deletePublishedBefore(Instant.now().minusMillis(retentionMs));
+        log.info("Outbox cleanup: removed {} delivered event(s).", removed);
+    }
+}
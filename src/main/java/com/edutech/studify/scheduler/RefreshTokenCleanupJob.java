@@ -1,5 +1,6 @@
 package com.edutech.studify.scheduler;
 
+import com.edutech.studify.security.TokenRevocationRegistry;
 import com.edutech.studify.service.RefreshTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,10 +13,12 @@ import org.springframework.stereotype.Component;
 public class RefreshTokenCleanupJob {
 
     private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Scheduled(cron = "${app.jwt.refresh-token.cleanup-cron:0 0 3 * * *}")
     public void run() {
         log.info("Running scheduled refresh token cleanup...");
         refreshTokenService.purgeStaleTokens();
+        tokenRevocationRegistry.purgeExpired();
     }
 }
\ No newline at end of file
@@ -0,0 +1,247 @@
+package com.edutech.studify.security;
+
+import com.edutech.studify.dto.response.GradeResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the public auth endpoints before any work is done for them. Each
+ * login burns a BCrypt verification, so an unthrottled credential-stuffing
+ * burst starves the password hashing pool for every other user.
+ *
+ * Every request is charged against a bucket for its client IP; login and
+ * register are also charged against a bucket for the email in the body, which
+ * catches one account being attacked from many addresses. Buckets live in a
+ * size-bounded Caffeine cache and expire once they would have refilled
+ * completely, so dropping them loses nothing.
+ *
+ * The client IP is {@code getRemoteAddr()}: behind a proxy, set
+ * server.forward-headers-strategy so it reflects the real client.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS =
+            Set.of("/api/auth/login", "/api/auth/register", "/api/auth/refresh-token");
+    private static final Set<String> EMAIL_LIMITED_PATHS = Set.of("/api/auth/login", "/api/auth/register");
+    // Auth request bodies are a few hundred bytes; anything larger is not parsed for an email.
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Value("${app.security.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.security.rate-limit.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${app.security.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute;
+
+    @Value("${app.security.rate-limit.email.capacity:5}")
+    private int emailCapacity;
+
+    @Value("${app.security.rate-limit.email.refill-per-minute:5}")
+    private int emailRefillPerMinute;
+
+    @Value("${app.security.rate-limit.max-tracked-keys:100000}")
+    private long maxTrackedKeys;
+
+    private Cache<String, TokenBucket> ipBuckets;
+    private Cache<String, TokenBucket> emailBuckets;
+    private Counter ipRejected;
+    private Counter emailRejected;
+
+    @PostConstruct
+    void init() {
+        ipBuckets = buckets(ipCapacity, ipRefillPerMinute);
+        emailBuckets = buckets(emailCapacity, emailRefillPerMinute);
+        ipRejected = rejectedCounter("ip");
+        emailRejected = rejectedCounter("email");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        long waitNanos = consume(ipBuckets, ipCapacity, ipRefillPerMinute, request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            ipRejected.increment();
+            reject(request, response, waitNanos);
+            return;
+        }
+
+        if (EMAIL_LIMITED_PATHS.contains(path(request))) {
+            CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+            String email = cachedRequest.complete ? extractEmail(cachedRequest.body) : null;
+            if (email != null) {
+                waitNanos = consume(emailBuckets, emailCapacity, emailRefillPerMinute, email, now);
+                if (waitNanos > 0) {
+                    emailRejected.increment();
+                    log.warn("Rate limit hit for email {} from {}", email, request.getRemoteAddr());
+                    reject(request, response, waitNanos);
+                    return;
+                }
+            }
+            request = cachedRequest;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private long consume(Cache<String, TokenBucket> buckets, int capacity, int refillPerMinute, String key, long now) {
+        return buckets.get(key, k -> new TokenBucket(capacity, emissionInterval(refillPerMinute)))
+                .tryConsume(now);
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Malformed JSON is rejected by the controller; only the IP bucket applies.
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+
+        GradeResponse.ErrorResponse errorResponse = GradeResponse.ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Too many requests. Please try again in " + retryAfterSeconds + " second(s).")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private Cache<String, TokenBucket> buckets(int capacity, int refillPerMinute) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofNanos(capacity * emissionInterval(refillPerMinute)))
+                .build();
+    }
+
+    private Counter rejectedCounter(String limit) {
+        return Counter.builder("studify.auth.rate.limit.rejected")
+                .description("Auth requests rejected with 429 by the rate limiter")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static long emissionInterval(int refillPerMinute) {
+        return TimeUnit.MINUTES.toNanos(1) / Math.max(refillPerMinute, 1);
+    }
+
+    /**
+     * Replays a body that was read up front so the controller can still bind it.
+     * Only the first MAX_BODY_BYTES are buffered; the rest is streamed after them.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+        private final boolean complete;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            byte[] read = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            this.complete = read.length <= MAX_BODY_BYTES;
+            this.body = read;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            InputStream in = complete
+                    ? new ByteArrayInputStream(body)
+                    : new SequenceInputStream(new ByteArrayInputStream(body), super.getInputStream());
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return in.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.edutech.studify.security;
 
+import com.edutech.studify.util.SecurityUtils;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +25,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final SecurityUtils securityUtils;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,21 +35,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
 
-            if (jwt != null && jwtUtils.validateToken(jwt)) {
-                String email = jwtUtils.getUsernameFromToken(jwt);
+            Claims claims = jwt != null ? jwtUtils.parseClaims(jwt) : null;
+            Long userId = claims != null ? claims.get(JwtUtils.USER_ID_CLAIM, Long.class) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+            if (claims != null && !isRevoked(userId, claims)) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                // Tokens minted before the uid claim existed are checked once the user is loaded.
+                if (userId != null || !isRevoked(((UserDetailsImpl) userDetails).getId(), claims)) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    preloadProfile();
+                }
             }
         } catch (Exception e) {
             log.error("Cannot set user authentication: {}", e.getMessage());
@@ -54,6 +63,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Fills the profile cache while no transaction holds a connection; see UserProfileCache
+    private void preloadProfile() {
+        try {
+            securityUtils.getCurrentProfile();
+        } catch (RuntimeException e) {
+            log.warn("Could not preload the user profile: {}", e.getMessage());
+        }
+    }
+
+    private boolean isRevoked(Long userId, Claims claims) {
+        if (tokenRevocationRegistry.isRevoked(userId, claims.getIssuedAt())) {
+            log.debug("Rejected access token of user {} issued before its revocation.", userId);
+            return true;
+        }
+        return false;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -6,7 +6,6 @@ import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -22,31 +21,51 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    /** Claim carrying the user id, checked against TokenRevocationRegistry without a user lookup. */
+    public static final String USER_ID_CLAIM = "uid";
+
     /**
      * Generate JWT token from Authentication
      */
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         assert userDetails != null;
-        return generateTokenFromUsername(userDetails.getUsername()); // Username is mapped to email in UserDetailsImpl
+        return generateToken(userDetails.getId(), userDetails.getUsername()); // Username is mapped to email in UserDetailsImpl
     }
 
     /**
-     * Generate JWT token from username
+     * Generate JWT token for a user id and email
      */
-
-    public String generateTokenFromUsername(String email) {
+    public String generateToken(Long userId, String email) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
                 .subject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
                 .compact();
     }
 
+    /**
+     * Verify the token and return its claims, or null if it is not valid.
+     * Lets the filter check the signature and read the claims in one parse.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Get username from JWT token
      */
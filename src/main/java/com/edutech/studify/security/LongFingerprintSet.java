@@ -0,0 +1,89 @@
+package com.edutech.studify.security;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of 64-bit fingerprints backed by a single
+ * {@code long[]} - about 16 bytes per entry at the default load factor,
+ * instead of the ~60 a {@code Set<Long>} costs. Entries are never removed;
+ * the owner rebuilds the set from scratch when it needs to shrink.
+ */
+class LongFingerprintSet {
+
+    private static final long EMPTY = 0L;
+    private static final int MIN_CAPACITY = 1 << 10;
+
+    private long[] table;
+    private int size;
+
+    LongFingerprintSet(int expectedSize) {
+        table = new long[capacityFor(expectedSize)];
+    }
+
+    synchronized boolean add(long fingerprint) {
+        long value = normalize(fingerprint);
+        if ((size + 1) * 2L > table.length) {
+            resize(table.length * 2);
+        }
+        if (insert(table, value)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean contains(long fingerprint) {
+        long value = normalize(fingerprint);
+        int mask = table.length - 1;
+        for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+            long slot = table[i];
+            if (slot == EMPTY) {
+                return false;
+            }
+            if (slot == value) {
+                return true;
+            }
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void resize(int newCapacity) {
+        long[] resized = new long[newCapacity];
+        Arrays.stream(table).filter(slot -> slot != EMPTY).forEach(slot -> insert(resized, slot));
+        table = resized;
+    }
+
+    private static boolean insert(long[] target, long value) {
+        int mask = target.length - 1;
+        for (int i = mix(value) & mask; ; i = (i + 1) & mask) {
+            if (target[i] == EMPTY) {
+                target[i] = value;
+                return true;
+            }
+            if (target[i] == value) {
+                return false;
+            }
+        }
+    }
+
+    // 0 marks an empty slot, so a genuine 0 fingerprint is shifted to 1.
+    private static long normalize(long fingerprint) {
+        return fingerprint == EMPTY ? 1L : fingerprint;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
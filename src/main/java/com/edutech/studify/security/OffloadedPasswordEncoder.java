@@ -0,0 +1,33 @@
+package com.edutech.studify.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder that hands the actual hashing to {@link PasswordHashingService}.
+ * Every caller - DaoAuthenticationProvider on login, register, change-password,
+ * the student/teacher create flows and the admin seeder - goes through it
+ * without knowing the work happens on another pool.
+ */
+@RequiredArgsConstructor
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingService hashingService;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingService.encode(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingService.matches(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix - cheap enough to stay on the caller's thread.
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,160 @@
+package com.edutech.studify.security;
+
+import com.edutech.studify.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * In-memory index of every token hash currently stored in refresh_tokens, so
+ * refresh calls carrying garbage or long-purged tokens are turned away without
+ * touching the database. Logout always runs its revoke statement: a false
+ * negative there would leave a token live while reporting success.
+ *
+ * Revoked rows stay in the index on purpose: replaying a revoked token must
+ * still reach the database to trigger reuse detection. The index only shrinks
+ * when it is rebuilt after the nightly purge.
+ *
+ * A miss is rejected without any query. Tokens minted on this node are added
+ * as they are issued; those minted on another node are picked up by an
+ * incremental catch-up query (new ids only) that runs in the background every
+ * catch-up-interval-ms, so request traffic never triggers a query. A token
+ * used on another node within that interval of being issued is turned away
+ * and the client has to log in again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenHashIndex {
+
+    private static final int PAGE_SIZE = 10_000;
+    // Identity ids can commit out of order; re-scan a margin below the last seen id.
+    private static final long CATCH_UP_OVERLAP = 1_000;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.refresh-token.index.enabled:true}")
+    private boolean enabled;
+
+    private volatile LongFingerprintSet fingerprints;
+    // Set while rebuild() loads a replacement, so concurrent add()s reach both sets
+    private volatile LongFingerprintSet rebuilding;
+    private volatile long lastSyncedId;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("studify.refresh.token.index.size", this,
+                        index -> index.fingerprints == null ? 0 : index.fingerprints.size())
+                .description("Refresh token hashes held in the in-memory index")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("studify.refresh.token.index.rejected")
+                .description("Refresh requests rejected by the index without a database lookup")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads the whole index, dropping hashes of rows that no longer exist.
+     * Hashes added while the reload runs go into both sets, and rows committed
+     * during it are picked up by a catch-up pass after the swap.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        LongFingerprintSet rebuilt = new LongFingerprintSet((int) refreshTokenRepository.count());
+        rebuilding = rebuilt;
+        try {
+            long lastId = load(rebuilt, 0);
+            fingerprints = rebuilt;
+            lastSyncedId = Math.max(lastId, load(rebuilt, Math.max(lastId - CATCH_UP_OVERLAP, 0)));
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Refresh token index loaded with {} hash(es) in {} ms.",
+                rebuilt.size(), System.currentTimeMillis() - started);
+    }
+
+    public void add(String tokenHash) {
+        long fingerprint = fingerprint(tokenHash);
+        LongFingerprintSet current = fingerprints;
+        if (current != null) {
+            current.add(fingerprint);
+        }
+        LongFingerprintSet replacement = rebuilding;
+        if (replacement != null) {
+            replacement.add(fingerprint);
+        }
+    }
+
+    /**
+     * False when the hash is not in the index. Until the index has been seeded
+     * (or when it is disabled) every hash is let through.
+     */
+    public boolean mightExist(String tokenHash) {
+        LongFingerprintSet current = fingerprints;
+        if (!enabled || current == null) {
+            return true;
+        }
+        if (current.contains(fingerprint(tokenHash))) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /** Adds tokens stored since the last pass, including those minted on other nodes. */
+    @Scheduled(fixedDelayString = "${app.jwt.refresh-token.index.catch-up-interval-ms:1000}")
+    public synchronized void catchUp() {
+        if (fingerprints == null) {
+            return;
+        }
+        try {
+            lastSyncedId = Math.max(lastSyncedId, load(fingerprints, Math.max(lastSyncedId - CATCH_UP_OVERLAP, 0)));
+        } catch (RuntimeException e) {
+            log.warn("Refresh token index catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    private long load(LongFingerprintSet target, long afterId) {
+        long lastId = afterId;
+        List<Object[]> page;
+        do {
+            page = refreshTokenRepository.findTokenHashesAfter(lastId, Limit.of(PAGE_SIZE));
+            for (Object[] row : page) {
+                lastId = (Long) row[0];
+                target.add(fingerprint((String) row[1]));
+            }
+        } while (page.size() == PAGE_SIZE);
+        return lastId;
+    }
+
+    // Stored hashes are Base64 SHA-256; the first 8 bytes are as random as any 64 bits we could derive.
+    static long fingerprint(String tokenHash) {
+        try {
+            return ByteBuffer.wrap(Base64.getDecoder().decode(tokenHash)).getLong();
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return tokenHash.hashCode();
+        }
+    }
+}
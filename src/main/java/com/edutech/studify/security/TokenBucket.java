@@ -0,0 +1,39 @@
+package com.edutech.studify.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single "theoretical arrival time" (the GCRA form of
+ * the algorithm): one AtomicLong per key and a CAS loop, no lock and no
+ * refill thread. A full bucket holds {@code capacity} requests and refills
+ * one request per {@code emissionIntervalNanos}.
+ */
+class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(int capacity, long emissionIntervalNanos) {
+        this.emissionIntervalNanos = emissionIntervalNanos;
+        this.burstNanos = capacity * emissionIntervalNanos;
+    }
+
+    /**
+     * Takes one token at {@code nowNanos}. Returns 0 when the request is
+     * allowed, otherwise how long (in nanos) until the next token is available.
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = (current == Long.MIN_VALUE ? nowNanos : Math.max(current, nowNanos)) + emissionIntervalNanos;
+            long overdraft = next - nowNanos - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
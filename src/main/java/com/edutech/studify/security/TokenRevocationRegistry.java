@@ -0,0 +1,124 @@
+package com.edutech.studify.security;
+
+import com.edutech.studify.cache.CacheInvalidationHandler;
+import com.edutech.studify.entity.TokenRevocation;
+import com.edutech.studify.repository.TokenRevocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens are stateless, so a changed password or a deactivated account
+ * would leave already-issued JWTs valid for up to jwt.expiration. This keeps a
+ * user id -> "issued before" epoch (seconds) map that JwtAuthenticationFilter
+ * checks against the token's iat claim - a map lookup instead of a query.
+ *
+ * The map mirrors the token_revocations table. Other nodes learn about a new
+ * row through the cache invalidation bus, with a periodic reload as a backstop
+ * when the bus is disabled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry implements CacheInvalidationHandler {
+
+    private static final String ENTITY_NAME = TokenRevocation.class.getSimpleName();
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final Map<Long, Long> revokedBeforeByUser = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+
+    /**
+     * Kills every access token issued to the user up to now. Joins the caller's
+     * transaction; the local map is only updated once it commits.
+     */
+    @Transactional
+    public void revokeAllIssuedBefore(Long userId) {
+        Instant now = Instant.now();
+        TokenRevocation revocation = tokenRevocationRepository.findById(userId)
+                .orElseGet(() -> TokenRevocation.builder().userId(userId).build());
+        revocation.setRevokedBefore(now);
+        tokenRevocationRepository.save(revocation);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(userId, now);
+                }
+            });
+        } else {
+            record(userId, now);
+        }
+        log.info("Access tokens issued to user {} before {} are now revoked.", userId, now);
+    }
+
+    /**
+     * JWT iat has one-second resolution, so the comparison is on whole seconds:
+     * a token issued in the same second as the revocation is still accepted,
+     * otherwise a re-login right after a password change would be rejected too.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long revokedBefore = revokedBeforeByUser.get(userId);
+        return revokedBefore != null && issuedAt.getTime() / 1000 < revokedBefore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.token-revocation.reload-ms:60000}",
+            initialDelayString = "${app.security.token-revocation.reload-ms:60000}")
+    public void reload() {
+        Instant cutoff = Instant.now().minusMillis(jwtExpirationMs);
+        tokenRevocationRepository.findByRevokedBeforeAfter(cutoff)
+                .forEach(revocation -> record(revocation.getUserId(), revocation.getRevokedBefore()));
+        // Every token issued before the cutoff has expired on its own by now.
+        revokedBeforeByUser.values().removeIf(revokedBefore -> revokedBefore < cutoff.getEpochSecond());
+    }
+
+    /** Drops rows that can no longer affect any live token. Called by the cleanup job. */
+    @Transactional
+    public void purgeExpired() {
+        int deleted = tokenRevocationRepository.deleteRevokedBefore(Instant.now().minusMillis(jwtExpirationMs));
+        log.info("Token revocation cleanup: removed {} expired row(s).", deleted);
+    }
+
+    @Override
+    public void evict(String entityName, Long id) {
+        if (ENTITY_NAME.equals(entityName)) {
+            tokenRevocationRepository.findById(id)
+                    .ifPresent(revocation -> record(revocation.getUserId(), revocation.getRevokedBefore()));
+        }
+    }
+
+    @Override
+    public void evictAll(String entityName) {
+        if (ENTITY_NAME.equals(entityName)) {
+            reload();
+        }
+    }
+
+    @Override
+    public void evictEverything() {
+        reload();
+    }
+
+    private void record(Long userId, Instant revokedBefore) {
+        revokedBeforeByUser.merge(userId, revokedBefore.getEpochSecond(), Math::max);
+    }
+}
@@ -0,0 +1,28 @@
+package com.edutech.studify.security;
+
+import com.edutech.studify.entity.Role;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * What the ownership checks need to know about a user: the linked student or
+ * teacher, its department and, for teachers, the courses they teach. An
+ * immutable snapshot, held by {@link UserProfileCache}.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class UserProfile {
+
+    private final Long userId;
+    private final Role role;
+    private final Long studentId;
+    private final Long teacherId;
+    private final Long departmentId;
+    private final Set<Long> courseIds;
+
+    public boolean teaches(Long courseId) {
+        return courseId != null && courseIds.contains(courseId);
+    }
+}
@@ -0,0 +1,178 @@
+package com.edutech.studify.security;
+
+import com.edutech.studify.cache.CacheInvalidationHandler;
+import com.edutech.studify.datasource.ReadWriteRoutingDataSource;
+import com.edutech.studify.entity.Course;
+import com.edutech.studify.entity.Role;
+import com.edutech.studify.entity.Student;
+import com.edutech.studify.entity.Teacher;
+import com.edutech.studify.entity.User;
+import com.edutech.studify.repository.CourseRepository;
+import com.edutech.studify.repository.StudentRepository;
+import com.edutech.studify.repository.TeacherRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache-aside map from user id to {@link UserProfile}, so ownership checks are
+ * set lookups instead of loading the user, then its student or teacher, then
+ * the course's teacher on every request.
+ *
+ * Entries are dropped after commit by the student, teacher and course write
+ * paths that change them, and by invalidations from other nodes. The TTL
+ * bounds how long anything those paths miss can stay stale.
+ *
+ * A lagging replica would put back the profile an eviction had just dropped,
+ * so only primary reads are cached. JwtAuthenticationFilter fills the cache
+ * before any transaction opens, loading misses in a read-only transaction
+ * pinned to the primary. A miss inside a transaction is read on the caller's
+ * own connection - a nested transaction would need a second one from the
+ * pool - and is not cached when that connection may be on the replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserProfileCache implements CacheInvalidationHandler {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.security.profile-cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${app.security.profile-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    private Cache<Long, UserProfile> profiles;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Value("${app.datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @PostConstruct
+    void init() {
+        profiles = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * The role comes from the authenticated principal, which is reloaded on
+     * every request; a snapshot taken under another role is rebuilt.
+     */
+    public UserProfile get(Long userId, Role role) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return cached(userId, role, () -> ReadWriteRoutingDataSource.runOnPrimary(
+                    () -> readOnlyTransaction.execute(status -> load(userId, role))));
+        }
+        if (replicaEnabled && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            UserProfile profile = profiles.getIfPresent(userId);
+            return profile != null && profile.getRole() == role ? profile : load(userId, role);
+        }
+        return cached(userId, role, () -> load(userId, role));
+    }
+
+    public void evictAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            profiles.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                profiles.invalidate(userId);
+            }
+        });
+    }
+
+    @Override
+    public void evict(String entityName, Long id) {
+        if (User.class.getSimpleName().equals(entityName)) {
+            profiles.invalidate(id);
+        } else if (Student.class.getSimpleName().equals(entityName)) {
+            evictIf(profile -> id.equals(profile.getStudentId()));
+        } else if (Teacher.class.getSimpleName().equals(entityName)) {
+            evictIf(profile -> id.equals(profile.getTeacherId()));
+        } else if (Course.class.getSimpleName().equals(entityName)) {
+            // The course may have moved to a teacher who does not list it yet
+            evictIf(profile -> profile.getTeacherId() != null);
+        }
+    }
+
+    @Override
+    public void evictAll(String entityName) {
+        if (User.class.getSimpleName().equals(entityName)
+                || Student.class.getSimpleName().equals(entityName)
+                || Teacher.class.getSimpleName().equals(entityName)
+                || Course.class.getSimpleName().equals(entityName)) {
+            profiles.invalidateAll();
+        }
+    }
+
+    @Override
+    public void evictEverything() {
+        profiles.invalidateAll();
+    }
+
+    private void evictIf(Predicate<UserProfile> predicate) {
+        profiles.asMap().values().removeIf(predicate);
+    }
+
+    private UserProfile cached(Long userId, Role role, Supplier<UserProfile> loader) {
+        UserProfile profile = profiles.get(userId, id -> loader.get());
+        if (profile.getRole() != role) {
+            profile = loader.get();
+            profiles.put(userId, profile);
+        }
+        return profile;
+    }
+
+    private UserProfile load(Long userId, Role role) {
+        Long studentId = null;
+        Long teacherId = null;
+        Long departmentId = null;
+        Set<Long> courseIds = Set.of();
+
+        if (role == Role.STUDENT) {
+            List<Object[]> rows = studentRepository.findProfileRowByUserId(userId);
+            if (!rows.isEmpty()) {
+                studentId = (Long) rows.get(0)[0];
+                departmentId = (Long) rows.get(0)[1];
+            }
+        } else if (role == Role.TEACHER) {
+            List<Object[]> rows = teacherRepository.findProfileRowByUserId(userId);
+            if (!rows.isEmpty()) {
+                teacherId = (Long) rows.get(0)[0];
+                departmentId = (Long) rows.get(0)[1];
+                courseIds = Set.copyOf(courseRepository.findIdsByTeacherId(teacherId));
+            }
+        }
+
+        log.debug("Loaded profile of user {}: student {}, teacher {}, {} courses",
+                userId, studentId, teacherId, courseIds.size());
+        return new UserProfile(userId, role, studentId, teacherId, departmentId, courseIds);
+    }
+}
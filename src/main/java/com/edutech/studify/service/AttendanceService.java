@@ -7,10 +7,13 @@ import com.edutech.studify.dto.util.DtoMapper;
 import com.edutech.studify.entity.*;
 import com.edutech.studify.exception.BusinessException;
 import com.edutech.studify.exception.ResourceNotFoundException;
+import com.edutech.studify.monitoring.BusinessMetrics;
+import com.edutech.studify.outbox.OutboxWriter;
 import com.edutech.studify.repository.AttendanceRepository;
 import com.edutech.studify.repository.CourseRepository;
 import com.edutech.studify.repository.EnrollmentRepository;
 import com.edutech.studify.util.SecurityUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,8 +22,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +39,9 @@ public class AttendanceService {
     private final CourseRepository courseRepository;
     private final DtoMapper dtoMapper;
     private final SecurityUtils securityUtils;
+    private final BusinessMetrics businessMetrics;
+    private final EntityManager entityManager;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Mark attendance for multiple students
@@ -53,9 +63,7 @@ public class AttendanceService {
 
         // Verify teacher access
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (course.getTeacher() == null ||
-                    !course.getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(course.getId())) {
                 throw new BusinessException("You can only mark attendance for your own courses");
             }
         }
@@ -109,7 +117,13 @@ public class AttendanceService {
             }
         }
 
+        for (Attendance attendance : attendanceList) {
+            outboxWriter.record(OutboxEventType.ATTENDANCE_RECORDED, attendance.getEnrollment().getId(),
+                    attendanceRecorded(attendance));
+        }
+
         log.info("Attendance marked successfully for {} students", attendanceList.size());
+        businessMetrics.attendanceMarked(attendanceList.size());
 
         return AttendanceSummaryResponse.builder()
                 .courseId(request.getCourseId())
@@ -136,9 +150,7 @@ public class AttendanceService {
 
         // Verify teacher access
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (attendance.getEnrollment().getCourse().getTeacher() == null ||
-                    !attendance.getEnrollment().getCourse().getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(attendance.getEnrollment().getCourse().getId())) {
                 throw new BusinessException("You can only update attendance for your own courses");
             }
 
@@ -151,6 +163,8 @@ public class AttendanceService {
 
         attendance.setStatus(status);
         Attendance updatedAttendance = attendanceRepository.save(attendance);
+        outboxWriter.record(OutboxEventType.ATTENDANCE_RECORDED, updatedAttendance.getEnrollment().getId(),
+                attendanceRecorded(updatedAttendance));
 
         log.info("Attendance updated successfully");
         return dtoMapper.toAttendanceResponse(updatedAttendance);
@@ -161,35 +175,29 @@ public class AttendanceService {
      * ADMIN, TEACHER (their courses), STUDENT (own)
      */
     @Transactional(readOnly = true)
-    public List<AttendanceResponse> getAttendanceByStudent(
-            Long studentId, Long courseId, LocalDate startDate, LocalDate endDate) {
+    public void streamAttendanceByStudent(Long studentId, Long courseId, LocalDate startDate, LocalDate endDate,
+                                          Consumer<AttendanceResponse> sink) {
 
         log.info("Fetching attendance for student ID: {}, course: {}", studentId, courseId);
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
-            if (!enrollments.isEmpty()) {
-                if (!enrollments.get(0).getStudent().getUser().getId().equals(securityUtils.getCurrentUserId())) {
-                    throw new BusinessException("You can only view your own attendance");
-                }
+            if (!studentId.equals(securityUtils.getCurrentStudentId())) {
+                throw new BusinessException("You can only view your own attendance");
             }
         }
 
-        List<Attendance> attendanceList;
-
+        Stream<Attendance> attendance;
         if (courseId != null && startDate != null && endDate != null) {
-            attendanceList = attendanceRepository.findByStudentIdAndCourseIdAndDateRange(
+            attendance = attendanceRepository.streamByStudentIdAndCourseIdAndDateRange(
                     studentId, courseId, startDate, endDate);
         } else if (courseId != null) {
-            attendanceList = attendanceRepository.findByStudentIdAndCourseId(studentId, courseId);
+            attendance = attendanceRepository.streamByStudentIdAndCourseId(studentId, courseId);
         } else {
-            attendanceList = attendanceRepository.findByStudentId(studentId);
+            attendance = attendanceRepository.streamByStudentId(studentId);
         }
 
-        return attendanceList.stream()
-                .map(dtoMapper::toAttendanceResponse)
-                .collect(Collectors.toList());
+        writeTo(attendance, sink);
     }
 
     /**
@@ -197,7 +205,7 @@ public class AttendanceService {
      * ADMIN, TEACHER (own courses)
      */
     @Transactional(readOnly = true)
-    public List<AttendanceResponse> getAttendanceByCourse(Long courseId, LocalDate date) {
+    public void streamAttendanceByCourse(Long courseId, LocalDate date, Consumer<AttendanceResponse> sink) {
         log.info("Fetching attendance for course ID: {}, date: {}", courseId, date);
 
         // Get course
@@ -206,23 +214,27 @@ public class AttendanceService {
 
         // Verify teacher access
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (course.getTeacher() == null ||
-                    !course.getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(course.getId())) {
                 throw new BusinessException("You can only view attendance for your own courses");
             }
         }
 
-        List<Attendance> attendanceList;
-        if (date != null) {
-            attendanceList = attendanceRepository.findByCourseIdAndDate(courseId, date);
-        } else {
-            attendanceList = attendanceRepository.findByCourseId(courseId);
-        }
+        writeTo(date != null
+                ? attendanceRepository.streamByCourseIdAndDate(courseId, date)
+                : attendanceRepository.streamByCourseId(courseId), sink);
+    }
 
-        return attendanceList.stream()
-                .map(dtoMapper::toAttendanceResponse)
-                .collect(Collectors.toList());
+    // Maps and hands over one row at a time, detaching it afterwards so the
+    // persistence context does not grow with the result. The enrollment, student
+    // and course each row points to stay attached; there are at most a course's
+    // capacity of those.
+    private void writeTo(Stream<Attendance> attendance, Consumer<AttendanceResponse> sink) {
+        try (attendance) {
+            attendance.forEach(record -> {
+                sink.accept(dtoMapper.toAttendanceResponse(record));
+                entityManager.detach(record);
+            });
+        }
     }
 
     /**
@@ -239,9 +251,7 @@ public class AttendanceService {
 
         // Verify teacher access
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (course.getTeacher() == null ||
-                    !course.getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(course.getId())) {
                 throw new BusinessException("You can only view statistics for your own courses");
             }
         }
@@ -283,4 +293,14 @@ public class AttendanceService {
                 .attendanceRate(attendanceRate)
                 .build();
     }
-}
\ No newline at end of file
+
+    // Outbox payload; kept to the record's own columns so no associations are loaded for it
+    private static Map<String, Object> attendanceRecorded(Attendance attendance) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", attendance.getId());
+        payload.put("enrollmentId", attendance.getEnrollment().getId());
+        payload.put("date", attendance.getDate());
+        payload.put("status", attendance.getStatus());
+        return payload;
+    }
+}
@@ -1,5 +1,6 @@
 package com.edutech.studify.service;
 
+import com.edutech.studify.dto.projection.CourseListRow;
 import com.edutech.studify.dto.request.CreateCourseRequest;
 import com.edutech.studify.dto.request.UpdateCourseRequest;
 import com.edutech.studify.dto.response.CourseResponse;
@@ -7,13 +8,17 @@ import com.edutech.studify.dto.response.PageResponse;
 import com.edutech.studify.dto.util.DtoMapper;
 import com.edutech.studify.entity.Course;
 import com.edutech.studify.entity.Department;
+import com.edutech.studify.entity.OutboxEventType;
 import com.edutech.studify.entity.Teacher;
 import com.edutech.studify.exception.BusinessException;
 import com.edutech.studify.exception.DuplicateResourceException;
 import com.edutech.studify.exception.ResourceNotFoundException;
+import com.edutech.studify.outbox.OutboxWriter;
 import com.edutech.studify.repository.CourseRepository;
 import com.edutech.studify.repository.DepartmentRepository;
 import com.edutech.studify.repository.TeacherRepository;
+import com.edutech.studify.security.UserProfileCache;
+import com.edutech.studify.util.ETagUtils;
 import com.edutech.studify.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +29,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -33,6 +42,8 @@ public class CourseService {
     private final TeacherRepository teacherRepository;
     private final DtoMapper dtoMapper;
     private final SecurityUtils securityUtils;
+    private final OutboxWriter outboxWriter;
+    private final UserProfileCache userProfileCache;
 
     /**
      * Create a new course
@@ -77,12 +88,16 @@ public class CourseService {
                 .maxCapacity(request.getMaxCapacity())
                 .department(department)
                 .teacher(teacher)
+                .teacherAssignedAt(teacher != null ? LocalDateTime.now() : null)
                 .build();
 
         Course savedCourse = courseRepository.save(course);
+        evictTeacherProfile(teacher);
         log.info("Course created successfully with ID: {}", savedCourse.getId());
 
-        return dtoMapper.toCourseResponse(savedCourse);
+        CourseResponse response = dtoMapper.toCourseResponse(savedCourse);
+        outboxWriter.record(OutboxEventType.COURSE_CREATED, savedCourse.getId(), response);
+        return response;
     }
 
     /**
@@ -103,12 +118,12 @@ public class CourseService {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Course> coursePage;
+        Page<CourseListRow> coursePage;
 
         if (departmentId != null || semester != null || teacherId != null) {
-            coursePage = courseRepository.searchCoursesWithFilters(null, departmentId, semester, teacherId, pageable);
+            coursePage = courseRepository.searchCourseRows(null, departmentId, semester, teacherId, pageable);
         } else {
-            coursePage = courseRepository.findAll(pageable);
+            coursePage = courseRepository.findCourseRows(pageable);
         }
 
         Page<CourseResponse> responsePage = coursePage.map(dtoMapper::toCourseResponse);
@@ -131,7 +146,7 @@ public class CourseService {
                 Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Course> coursePage = courseRepository.searchCoursesWithFilters(
+        Page<CourseListRow> coursePage = courseRepository.searchCourseRows(
                 search, departmentId, semester, teacherId, pageable);
 
         Page<CourseResponse> responsePage = coursePage.map(dtoMapper::toCourseResponse);
@@ -165,6 +180,22 @@ public class CourseService {
         return dtoMapper.toCourseResponse(course);
     }
 
+    /**
+     * Weak ETag of getCourseById's response, read without loading the course
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findCourseETag(Long id) {
+        return ETagUtils.weakETag(courseRepository.findVersionById(id));
+    }
+
+    /**
+     * Weak ETag of getCourseByCourseCode's response
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findCourseETagByCourseCode(String courseCode) {
+        return ETagUtils.weakETag(courseRepository.findVersionByCourseCode(courseCode));
+    }
+
     /**
      * Get available courses (not full)
      */
@@ -173,7 +204,7 @@ public class CourseService {
         log.info("Fetching available courses");
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("name").ascending());
-        Page<Course> coursePage = courseRepository.findAvailableCourses(pageable);
+        Page<CourseListRow> coursePage = courseRepository.findAvailableCourseRows(pageable);
 
         Page<CourseResponse> responsePage = coursePage.map(dtoMapper::toCourseResponse);
         return dtoMapper.toPageResponse(responsePage);
@@ -230,13 +261,15 @@ public class CourseService {
         if (request.getTeacherId() != null) {
             Teacher teacher = teacherRepository.findById(request.getTeacherId())
                     .orElseThrow(() -> new ResourceNotFoundException("Teacher", "id", request.getTeacherId()));
-            course.setTeacher(teacher);
+            changeTeacher(course, teacher);
         }
 
         Course updatedCourse = courseRepository.save(course);
         log.info("Course updated successfully with ID: {}", updatedCourse.getId());
 
-        return dtoMapper.toCourseResponse(updatedCourse);
+        CourseResponse response = dtoMapper.toCourseResponse(updatedCourse);
+        outboxWriter.record(OutboxEventType.COURSE_UPDATED, updatedCourse.getId(), response);
+        return response;
     }
 
     /**
@@ -262,11 +295,13 @@ public class CourseService {
                     teacher.getDepartment().getName(), course.getDepartment().getName());
         }
 
-        course.setTeacher(teacher);
+        changeTeacher(course, teacher);
         Course updatedCourse = courseRepository.save(course);
 
         log.info("Teacher assigned successfully");
-        return dtoMapper.toCourseResponse(updatedCourse);
+        CourseResponse response = dtoMapper.toCourseResponse(updatedCourse);
+        outboxWriter.record(OutboxEventType.COURSE_TEACHER_ASSIGNED, updatedCourse.getId(), response);
+        return response;
     }
 
     /**
@@ -292,6 +327,29 @@ public class CourseService {
         }
 
         courseRepository.delete(course);
+        evictTeacherProfile(course.getTeacher());
+        outboxWriter.record(OutboxEventType.COURSE_DELETED, id, Map.of("id", id));
         log.info("Course deleted successfully with ID: {}", id);
     }
+
+    /**
+     * Stamps teacherAssignedAt when the teacher actually changes, so delta sync
+     * sends the new teacher the course's existing rows; both the previous and
+     * the new teacher's course sets change
+     */
+    private void changeTeacher(Course course, Teacher teacher) {
+        Teacher previous = course.getTeacher();
+        if (previous == null || !previous.getId().equals(teacher.getId())) {
+            course.setTeacherAssignedAt(LocalDateTime.now());
+        }
+        evictTeacherProfile(previous);
+        evictTeacherProfile(teacher);
+        course.setTeacher(teacher);
+    }
+
+    private void evictTeacherProfile(Teacher teacher) {
+        if (teacher != null) {
+            userProfileCache.evictAfterCommit(teacher.getUser().getId());
+        }
+    }
 }
@@ -8,12 +8,14 @@ import com.edutech.studify.exception.BusinessException;
 import com.edutech.studify.exception.DuplicateResourceException;
 import com.edutech.studify.exception.ResourceNotFoundException;
 import com.edutech.studify.repository.DepartmentRepository;
+import com.edutech.studify.util.ETagUtils;
 import com.edutech.studify.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -93,6 +95,23 @@ public class DepartmentService {
         return dtoMapper.toDepartmentResponse(department, studentCount, teacherCount, courseCount);
     }
 
+    /**
+     * Weak ETag of getAllDepartments' response: changes whenever a department
+     * is added, removed or edited, or one of its counts moves
+     */
+    @Transactional(readOnly = true)
+    public String getDepartmentsETag() {
+        return ETagUtils.weakCollectionETag(departmentRepository.findAllVersions());
+    }
+
+    /**
+     * Weak ETag of getDepartmentById's response
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findDepartmentETag(Long id) {
+        return ETagUtils.weakETag(departmentRepository.findVersionById(id));
+    }
+
     /**
      * Update department
      * Only ADMIN can update departments
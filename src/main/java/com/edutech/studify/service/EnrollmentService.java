@@ -8,10 +8,12 @@ import com.edutech.studify.entity.*;
 import com.edutech.studify.exception.BusinessException;
 import com.edutech.studify.exception.DuplicateResourceException;
 import com.edutech.studify.exception.ResourceNotFoundException;
+import com.edutech.studify.outbox.OutboxWriter;
 import com.edutech.studify.repository.CourseRepository;
 import com.edutech.studify.repository.EnrollmentRepository;
 import com.edutech.studify.repository.StudentRepository;
 import com.edutech.studify.util.SecurityUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -23,7 +25,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -35,6 +39,8 @@ public class EnrollmentService {
     private final CourseRepository courseRepository;
     private final DtoMapper dtoMapper;
     private final SecurityUtils securityUtils;
+    private final EntityManager entityManager;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Enroll student in course
@@ -55,7 +61,7 @@ public class EnrollmentService {
 
         // Verify access - student can only enroll themselves
         if (securityUtils.isStudent()) {
-            if (!student.getUser().getId().equals(securityUtils.getCurrentUserId())) {
+            if (!student.getId().equals(securityUtils.getCurrentStudentId())) {
                 throw new BusinessException("You can only enroll yourself");
             }
         }
@@ -86,7 +92,9 @@ public class EnrollmentService {
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
         log.info("Student enrolled successfully. Enrollment ID: {}", savedEnrollment.getId());
 
-        return dtoMapper.toEnrollmentResponse(savedEnrollment);
+        EnrollmentResponse response = dtoMapper.toEnrollmentResponse(savedEnrollment);
+        outboxWriter.record(OutboxEventType.ENROLLMENT_CREATED, savedEnrollment.getId(), response);
+        return response;
     }
 
     /**
@@ -102,7 +110,7 @@ public class EnrollmentService {
 
         // Verify access
         if (securityUtils.isStudent()) {
-            if (!enrollment.getStudent().getUser().getId().equals(securityUtils.getCurrentUserId())) {
+            if (!enrollment.getStudent().getId().equals(securityUtils.getCurrentStudentId())) {
                 throw new BusinessException("You can only drop your own enrollments");
             }
         }
@@ -120,6 +128,8 @@ public class EnrollmentService {
         // Change status to DROPPED
         enrollment.setStatus(EnrollmentStatus.DROPPED);
         enrollmentRepository.save(enrollment);
+        outboxWriter.record(OutboxEventType.ENROLLMENT_DROPPED, enrollmentId,
+                dtoMapper.toEnrollmentResponse(enrollment));
 
         log.info("Enrollment dropped successfully");
     }
@@ -136,7 +146,7 @@ public class EnrollmentService {
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            if (!enrollment.getStudent().getUser().getId().equals(securityUtils.getCurrentUserId())) {
+            if (!enrollment.getStudent().getId().equals(securityUtils.getCurrentStudentId())) {
                 throw new BusinessException("You can only view your own enrollments");
             }
         }
@@ -160,7 +170,7 @@ public class EnrollmentService {
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            if (!student.getUser().getId().equals(securityUtils.getCurrentUserId())) {
+            if (!student.getId().equals(securityUtils.getCurrentStudentId())) {
                 throw new BusinessException("You can only view your own enrollments");
             }
         }
@@ -194,9 +204,7 @@ public class EnrollmentService {
 
         // Verify access for teachers
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (course.getTeacher() == null ||
-                    !course.getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(course.getId())) {
                 throw new BusinessException("You can only view enrollments for your own courses");
             }
         }
@@ -227,8 +235,7 @@ public class EnrollmentService {
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            Student student = studentRepository.findById(studentId).get();
-            if (!student.getUser().getId().equals(securityUtils.getCurrentUserId())) {
+            if (!studentId.equals(securityUtils.getCurrentStudentId())) {
                 throw new BusinessException("You can only view your own enrollments");
             }
         }
@@ -243,7 +250,7 @@ public class EnrollmentService {
      * Get active enrollments for course
      */
     @Transactional(readOnly = true)
-    public List<EnrollmentResponse> getActiveEnrollmentsByCourseId(Long courseId) {
+    public void streamActiveEnrollmentsByCourseId(Long courseId, Consumer<EnrollmentResponse> sink) {
         log.info("Fetching active enrollments for course ID: {}", courseId);
 
         // Verify course exists
@@ -252,16 +259,18 @@ public class EnrollmentService {
 
         // Verify access for teachers
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (course.getTeacher() == null ||
-                    !course.getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(course.getId())) {
                 throw new BusinessException("You can only view enrollments for your own courses");
             }
         }
 
-        List<Enrollment> enrollments = enrollmentRepository.findActiveEnrollmentsByCourseId(courseId);
-        return enrollments.stream()
-                .map(dtoMapper::toEnrollmentResponse)
-                .collect(Collectors.toList());
+        // Detaching an enrollment cascades to the attendance records loaded for
+        // its percentage, so nothing accumulates across rows
+        try (Stream<Enrollment> enrollments = enrollmentRepository.streamActiveEnrollmentsByCourseId(courseId)) {
+            enrollments.forEach(enrollment -> {
+                sink.accept(dtoMapper.toEnrollmentResponse(enrollment));
+                entityManager.detach(enrollment);
+            });
+        }
     }
 }
\ No newline at end of file
@@ -7,9 +7,11 @@ import com.edutech.studify.dto.util.DtoMapper;
 import com.edutech.studify.entity.*;
 import com.edutech.studify.exception.BusinessException;
 import com.edutech.studify.exception.ResourceNotFoundException;
+import com.edutech.studify.outbox.OutboxWriter;
 import com.edutech.studify.repository.EnrollmentRepository;
 import com.edutech.studify.repository.GradeRepository;
 import com.edutech.studify.util.SecurityUtils;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -22,7 +24,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +37,8 @@ public class GradeService {
     private final EnrollmentRepository enrollmentRepository;
     private final DtoMapper dtoMapper;
     private final SecurityUtils securityUtils;
+    private final EntityManager entityManager;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Add or update grade for enrollment
@@ -53,9 +59,7 @@ public class GradeService {
 
         // Verify teacher access
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (enrollment.getCourse().getTeacher() == null ||
-                    !enrollment.getCourse().getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(enrollment.getCourse().getId())) {
                 throw new BusinessException("You can only grade students in your own courses");
             }
         }
@@ -85,7 +89,9 @@ public class GradeService {
         Grade savedGrade = gradeRepository.save(grade);
         log.info("Grade saved successfully for enrollment ID: {}", request.getEnrollmentId());
 
-        return dtoMapper.toGradeResponse(savedGrade);
+        GradeResponse response = dtoMapper.toGradeResponse(savedGrade);
+        outboxWriter.record(OutboxEventType.GRADE_RECORDED, enrollment.getId(), response);
+        return response;
     }
 
     /**
@@ -100,16 +106,14 @@ public class GradeService {
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            if (!grade.getEnrollment().getStudent().getUser().getId().equals(securityUtils.getCurrentUserId())) {
+            if (!grade.getEnrollment().getStudent().getId().equals(securityUtils.getCurrentStudentId())) {
                 throw new BusinessException("You can only view your own grades");
             }
         }
 
         // Verify access for teachers
         if (securityUtils.isTeacher()) {
-            User currentUser = securityUtils.getCurrentUser();
-            if (grade.getEnrollment().getCourse().getTeacher() == null ||
-                    !grade.getEnrollment().getCourse().getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(grade.getEnrollment().getCourse().getId())) {
                 throw new BusinessException("You can only view grades for your own courses");
             }
         }
@@ -129,11 +133,8 @@ public class GradeService {
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
-            if (!enrollments.isEmpty()) {
-                if (!enrollments.get(0).getStudent().getUser().getId().equals(securityUtils.getCurrentUserId())) {
-                    throw new BusinessException("You can only view your own grades");
-                }
+            if (!studentId.equals(securityUtils.getCurrentStudentId())) {
+                throw new BusinessException("You can only view your own grades");
             }
         }
 
@@ -169,15 +170,7 @@ public class GradeService {
 
         // Verify access for teachers
         if (securityUtils.isTeacher()) {
-            List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
-            if (enrollments.isEmpty()) {
-                throw new ResourceNotFoundException("Course", "id", courseId);
-            }
-
-            User currentUser = securityUtils.getCurrentUser();
-            Course course = enrollments.get(0).getCourse();
-            if (course.getTeacher() == null ||
-                    !course.getTeacher().getUser().getId().equals(currentUser.getId())) {
+            if (!securityUtils.teachesCourse(courseId)) {
                 throw new BusinessException("You can only view grades for your own courses");
             }
         }
@@ -193,29 +186,27 @@ public class GradeService {
      * Get all grades for a student (without pagination)
      */
     @Transactional(readOnly = true)
-    public List<GradeResponse> getAllGradesByStudent(Long studentId, String semester) {
+    public void streamAllGradesByStudent(Long studentId, String semester, Consumer<GradeResponse> sink) {
         log.info("Fetching all grades for student ID: {}, semester: {}", studentId, semester);
 
         // Verify access for students
         if (securityUtils.isStudent()) {
-            List<Enrollment> enrollments = enrollmentRepository.findByStudentId(studentId);
-            if (!enrollments.isEmpty()) {
-                if (!enrollments.get(0).getStudent().getUser().getId().equals(securityUtils.getCurrentUserId())) {
-                    throw new BusinessException("You can only view your own grades");
-                }
+            if (!studentId.equals(securityUtils.getCurrentStudentId())) {
+                throw new BusinessException("You can only view your own grades");
             }
         }
 
-        List<Grade> grades;
-        if (semester != null) {
-            grades = gradeRepository.findByStudentIdAndSemester(studentId, semester);
-        } else {
-            grades = gradeRepository.findByStudentId(studentId);
-        }
+        Stream<Grade> grades = semester != null
+                ? gradeRepository.streamByStudentIdAndSemester(studentId, semester)
+                : gradeRepository.streamByStudentId(studentId);
 
-        return grades.stream()
-                .map(dtoMapper::toGradeResponse)
-                .collect(Collectors.toList());
+        // Detach each row once written so the persistence context stays small
+        try (grades) {
+            grades.forEach(grade -> {
+                sink.accept(dtoMapper.toGradeResponse(grade));
+                entityManager.detach(grade);
+            });
+        }
     }
 
     /**
@@ -232,7 +223,11 @@ public class GradeService {
         Grade grade = gradeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Grade", "id", id));
 
+        // Unlink first: Enrollment.grade cascades and would re-persist the grade on flush
+        grade.getEnrollment().setGrade(null);
         gradeRepository.delete(grade);
+        outboxWriter.record(OutboxEventType.GRADE_DELETED, grade.getEnrollment().getId(),
+                Map.of("id", id, "enrollmentId", grade.getEnrollment().getId()));
         log.info("Grade deleted successfully");
     }
 }
\ No newline at end of file
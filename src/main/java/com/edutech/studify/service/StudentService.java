@@ -1,5 +1,6 @@
 package com.edutech.studify.service;
 
+import com.edutech.studify.dto.projection.StudentListRow;
 import com.edutech.studify.dto.request.CreateStudentRequest;
 import com.edutech.studify.dto.request.UpdateStudentRequest;
 import com.edutech.studify.dto.response.PageResponse;
@@ -8,9 +9,12 @@ import com.edutech.studify.dto.util.DtoMapper;
 import com.edutech.studify.entity.*;
 import com.edutech.studify.exception.DuplicateResourceException;
 import com.edutech.studify.exception.ResourceNotFoundException;
+import com.edutech.studify.outbox.OutboxWriter;
 import com.edutech.studify.repository.DepartmentRepository;
 import com.edutech.studify.repository.StudentRepository;
 import com.edutech.studify.repository.UserRepository;
+import com.edutech.studify.security.TokenRevocationRegistry;
+import com.edutech.studify.security.UserProfileCache;
 import com.edutech.studify.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +25,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -31,6 +36,9 @@ public class StudentService {
     private final PasswordEncoder passwordEncoder;
     private final DtoMapper dtoMapper;
     private final SecurityUtils securityUtils;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserProfileCache userProfileCache;
+    private final OutboxWriter outboxWriter;
 
     /**
      * Create a new student
@@ -85,7 +93,9 @@ public class StudentService {
 
         student = studentRepository.save(student);
 
-        return dtoMapper.toStudentResponse(student);
+        StudentResponse response = dtoMapper.toStudentResponse(student);
+        outboxWriter.record(OutboxEventType.STUDENT_CREATED, student.getId(), response);
+        return response;
     }
 
     /**
@@ -98,14 +108,14 @@ public class StudentService {
             StudentStatus status,
             Pageable pageable) {
 
-        Page<Student> studentPage;
+        Page<StudentListRow> studentPage;
 
         if (search != null || departmentId != null || status != null) {
             // Apply filters
-            studentPage = studentRepository.searchStudentsWithFilters(search, departmentId, status, pageable);
+            studentPage = studentRepository.searchStudentRows(search, departmentId, status, pageable);
         } else {
             // Get all
-            studentPage = studentRepository.findAll(pageable);
+            studentPage = studentRepository.findStudentRows(pageable);
         }
 
         Page<StudentResponse> responsePage = studentPage.map(dtoMapper::toStudentResponse);
@@ -135,9 +145,12 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public StudentResponse getMyProfile() {
-        User currentUser = securityUtils.getCurrentUser();
+        Long studentId = securityUtils.getCurrentStudentId();
+        if (studentId == null) {
+            throw new ResourceNotFoundException("Student profile not found");
+        }
 
-        Student student = studentRepository.findByUserId(currentUser.getId())
+        Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student profile not found"));
 
         return dtoMapper.toStudentResponse(student);
@@ -153,11 +166,10 @@ public class StudentService {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student", "id", id));
 
-        User currentUser = securityUtils.getCurrentUser();
         boolean isAdmin = securityUtils.isAdmin();
 
         // Students can only update their own profile
-        if (!isAdmin && !student.getUser().getId().equals(currentUser.getId())) {
+        if (!isAdmin && !student.getId().equals(securityUtils.getCurrentStudentId())) {
             securityUtils.verifyStudentAccess(student.getUser().getId());
         }
 
@@ -194,8 +206,11 @@ public class StudentService {
         }
 
         student = studentRepository.save(student);
+        userProfileCache.evictAfterCommit(student.getUser().getId());
 
-        return dtoMapper.toStudentResponse(student);
+        StudentResponse response = dtoMapper.toStudentResponse(student);
+        outboxWriter.record(OutboxEventType.STUDENT_UPDATED, student.getId(), response);
+        return response;
     }
 
     /**
@@ -220,6 +235,9 @@ public class StudentService {
         student.getUser().setIsActive(false);
 
         studentRepository.save(student);
+        tokenRevocationRegistry.revokeAllIssuedBefore(student.getUser().getId());
+        userProfileCache.evictAfterCommit(student.getUser().getId());
+        outboxWriter.record(OutboxEventType.STUDENT_DELETED, id, Map.of("id", id));
     }
 
     /**
@@ -245,8 +263,11 @@ public class StudentService {
         student.getUser().setIsActive(true);
 
         student = studentRepository.save(student);
+        userProfileCache.evictAfterCommit(student.getUser().getId());
 
-        return dtoMapper.toStudentResponse(student);
+        StudentResponse response = dtoMapper.toStudentResponse(student);
+        outboxWriter.record(OutboxEventType.STUDENT_RESTORED, student.getId(), response);
+        return response;
     }
 
     /**
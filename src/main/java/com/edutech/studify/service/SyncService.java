@@ -0,0 +1,161 @@
+package com.edutech.studify.service;
+
+import com.edutech.studify.dto.projection.CourseListRow;
+import com.edutech.studify.dto.response.SyncResponse;
+import com.edutech.studify.dto.util.DtoMapper;
+import com.edutech.studify.entity.Attendance;
+import com.edutech.studify.entity.Enrollment;
+import com.edutech.studify.entity.Grade;
+import com.edutech.studify.repository.AttendanceRepository;
+import com.edutech.studify.repository.CourseRepository;
+import com.edutech.studify.repository.EnrollmentRepository;
+import com.edutech.studify.repository.GradeRepository;
+import com.edutech.studify.repository.StudentRepository;
+import com.edutech.studify.repository.TeacherRepository;
+import com.edutech.studify.util.SecurityUtils;
+import com.edutech.studify.util.SyncCursor;
+import com.edutech.studify.util.SyncCursor.Collection;
+import com.edutech.studify.util.SyncCursor.Position;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for clients that keep a local copy: everything the current user
+ * can see that changed after the high-water mark of their previous sync.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncService {
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradeRepository gradeRepository;
+    private final AttendanceRepository attendanceRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final DtoMapper dtoMapper;
+    private final SecurityUtils securityUtils;
+
+    // updatedAt is stamped before commit, and reads may hit a lagging replica,
+    // so each sync looks back this far past the client's mark
+    @Value("${app.sync.overlap-ms:10000}")
+    private long overlapMs;
+
+    // Rows per collection in one response
+    @Value("${app.sync.page-size:500}")
+    private int pageSize;
+
+    /**
+     * Changes since the given mark, at most page-size rows per collection. A
+     * partial page carries a continuation token: pass it back (instead of
+     * since) until hasMore is false, then keep the last syncedUntil as the next
+     * mark. Without a mark, returns only a fresh one: clients take it first,
+     * load the regular list endpoints, then sync from it.
+     *
+     * Courses are the shared catalog; enrollments, grades and attendance are
+     * limited to the teacher's courses or the student's own records. A course
+     * assigned to the teacher inside the window brings all of its rows, since
+     * the teacher has never been sent them.
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChangesSince(LocalDateTime since, String continuation) {
+        SyncCursor cursor;
+        if (continuation != null) {
+            cursor = SyncCursor.decode(continuation);
+        } else if (since != null) {
+            cursor = SyncCursor.start(since.minus(Duration.ofMillis(overlapMs)), LocalDateTime.now());
+        } else {
+            return SyncResponse.builder().syncedUntil(LocalDateTime.now()).build();
+        }
+
+        LocalDateTime from = cursor.getFrom();
+        LocalDateTime until = cursor.getUntil();
+        Long teacherUserId = securityUtils.isTeacher() ? securityUtils.getCurrentUserId() : null;
+        Long studentUserId = securityUtils.isStudent() ? securityUtils.getCurrentUserId() : null;
+        log.info("Sync from {} until {} for user ID: {}", from, until, securityUtils.getCurrentUserId());
+
+        List<Long> visibleCourseIds = teacherUserId != null
+                ? courseRepository.findIdsAssignedToTeacherBetween(teacherUserId, from, until)
+                : List.of();
+        Limit limit = Limit.of(pageSize);
+        EnumMap<Collection, Position> next = new EnumMap<>(Collection.class);
+
+        SyncResponse.SyncResponseBuilder response = SyncResponse.builder()
+                .syncedUntil(until)
+                .courses(page(cursor, Collection.COURSES, next,
+                        after -> courseRepository.findCourseRowsChangedSince(
+                                from, until, after.updatedAt(), after.id(), limit),
+                        CourseListRow::getUpdatedAt, CourseListRow::getId).stream()
+                        .map(dtoMapper::toCourseResponse)
+                        .collect(Collectors.toList()))
+                .enrollments(page(cursor, Collection.ENROLLMENTS, next,
+                        after -> enrollmentRepository.findChangedSince(from, until, visibleCourseIds,
+                                after.updatedAt(), after.id(), teacherUserId, studentUserId, limit),
+                        Enrollment::getUpdatedAt, Enrollment::getId).stream()
+                        .map(dtoMapper::toEnrollmentResponse)
+                        .collect(Collectors.toList()))
+                .grades(page(cursor, Collection.GRADES, next,
+                        after -> gradeRepository.findChangedSince(from, until, visibleCourseIds,
+                                after.updatedAt(), after.id(), teacherUserId, studentUserId, limit),
+                        Grade::getUpdatedAt, Grade::getId).stream()
+                        .map(dtoMapper::toGradeResponse)
+                        .collect(Collectors.toList()))
+                .attendance(page(cursor, Collection.ATTENDANCE, next,
+                        after -> attendanceRepository.findChangedSince(from, until, visibleCourseIds,
+                                after.updatedAt(), after.id(), teacherUserId, studentUserId, limit),
+                        Attendance::getUpdatedAt, Attendance::getId).stream()
+                        .map(dtoMapper::toAttendanceResponse)
+                        .collect(Collectors.toList()));
+
+        // Deletions are small lists of ids: sent whole, with the first page
+        if (cursor.isFirstPage()) {
+            List<Long> deletedStudentIds;
+            if (securityUtils.isAdmin()) {
+                deletedStudentIds = studentRepository.findIdsDeletedSince(from);
+            } else if (teacherUserId != null) {
+                deletedStudentIds = studentRepository.findIdsDeletedSinceInCoursesOf(from, teacherUserId);
+            } else {
+                deletedStudentIds = List.of();
+            }
+            response.deletedStudentIds(deletedStudentIds)
+                    .deletedTeacherIds(teacherRepository.findIdsDeletedSince(from));
+        }
+
+        SyncCursor following = cursor.advance(next);
+        if (!following.isComplete()) {
+            response.hasMore(true).continuation(following.encode());
+        }
+        return response.build();
+    }
+
+    /**
+     * Reads one page of a collection that is not done yet. A full page records
+     * its last row in {@code next}; a short one leaves the collection done.
+     */
+    private <T> List<T> page(SyncCursor cursor, Collection collection, EnumMap<Collection, Position> next,
+                             Function<Position, List<T>> query,
+                             Function<T, LocalDateTime> updatedAt, Function<T, Long> id) {
+        Position after = cursor.position(collection);
+        if (after == null) {
+            return List.of();
+        }
+        List<T> rows = query.apply(after);
+        if (rows.size() >= pageSize) {
+            T last = rows.get(rows.size() - 1);
+            next.put(collection, new Position(updatedAt.apply(last), id.apply(last)));
+        }
+        return rows;
+    }
+}
@@ -1,5 +1,7 @@
 package com.edutech.studify.service;
 
+import com.edutech.studify.cache.EntityCacheEvictor;
+import com.edutech.studify.dto.projection.TeacherListRow;
 import com.edutech.studify.dto.request.CreateTeacherRequest;
 import com.edutech.studify.dto.request.UpdateTeacherRequest;
 import com.edutech.studify.dto.response.PageResponse;
@@ -15,6 +17,9 @@ import com.edutech.studify.exception.ResourceNotFoundException;
 import com.edutech.studify.repository.DepartmentRepository;
 import com.edutech.studify.repository.TeacherRepository;
 import com.edutech.studify.repository.UserRepository;
+import com.edutech.studify.security.TokenRevocationRegistry;
+import com.edutech.studify.security.UserProfileCache;
+import com.edutech.studify.util.ETagUtils;
 import com.edutech.studify.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +32,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -39,6 +45,9 @@ public class TeacherService {
     private final DtoMapper dtoMapper;
     private final SecurityUtils securityUtils;
     private final PasswordEncoder passwordEncoder;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserProfileCache userProfileCache;
 
     /**
      * Create a new teacher with user account
@@ -109,7 +118,7 @@ public class TeacherService {
                 Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Teacher> teacherPage = teacherRepository.findAll(pageable);
+        Page<TeacherListRow> teacherPage = teacherRepository.findTeacherRows(pageable);
 
         Page<TeacherResponse> responsePage = teacherPage.map(dtoMapper::toTeacherResponse);
         return dtoMapper.toPageResponse(responsePage);
@@ -129,6 +138,14 @@ public class TeacherService {
         return dtoMapper.toTeacherResponse(teacher);
     }
 
+    /**
+     * Weak ETag of getTeacherById's response, read without loading the teacher
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> findTeacherETag(Long id) {
+        return ETagUtils.weakETag(teacherRepository.findVersionById(id));
+    }
+
     /**
      * Get teacher by user ID
      * Accessible by the teacher themselves and ADMIN
@@ -163,7 +180,7 @@ public class TeacherService {
                 Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Teacher> teacherPage = teacherRepository.searchTeachersWithFilters(
+        Page<TeacherListRow> teacherPage = teacherRepository.searchTeacherRows(
                 search, departmentId, pageable);
 
         Page<TeacherResponse> responsePage = teacherPage.map(dtoMapper::toTeacherResponse);
@@ -189,7 +206,7 @@ public class TeacherService {
                 Sort.by(sortBy).descending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Teacher> teacherPage = teacherRepository.findByDepartmentId(departmentId, pageable);
+        Page<TeacherListRow> teacherPage = teacherRepository.searchTeacherRows(null, departmentId, pageable);
 
         Page<TeacherResponse> responsePage = teacherPage.map(dtoMapper::toTeacherResponse);
         return dtoMapper.toPageResponse(responsePage);
@@ -208,7 +225,7 @@ public class TeacherService {
 
         // Check if current user is the teacher themselves
         boolean isOwnProfile = securityUtils.isTeacher() &&
-                teacher.getUser().getId().equals(securityUtils.getCurrentUserId());
+                teacher.getId().equals(securityUtils.getCurrentTeacherId());
 
         // Only ADMIN can do full update, teacher can only update limited fields
         if (!securityUtils.isAdmin() && !isOwnProfile) {
@@ -259,6 +276,7 @@ public class TeacherService {
         }
 
         Teacher updatedTeacher = teacherRepository.save(teacher);
+        userProfileCache.evictAfterCommit(teacher.getUser().getId());
         log.info("Teacher updated successfully with ID: {}", updatedTeacher.getId());
 
         return dtoMapper.toTeacherResponse(updatedTeacher);
@@ -293,6 +311,10 @@ public class TeacherService {
         teacher.getUser().setIsActive(false);
 
         teacherRepository.save(teacher);
+        // The cached copy would otherwise outlive the @SQLRestriction filter
+        entityCacheEvictor.evictAfterCommit(Teacher.class, id);
+        tokenRevocationRegistry.revokeAllIssuedBefore(teacher.getUser().getId());
+        userProfileCache.evictAfterCommit(teacher.getUser().getId());
         log.info("Teacher soft deleted successfully with ID: {}", id);
     }
 
@@ -320,6 +342,7 @@ public class TeacherService {
         teacher.getUser().setIsActive(true);
 
         Teacher restoredTeacher = teacherRepository.save(teacher);
+        userProfileCache.evictAfterCommit(teacher.getUser().getId());
         log.info("Teacher restored successfully with ID: {}", id);
 
         return dtoMapper.toTeacherResponse(restoredTeacher);
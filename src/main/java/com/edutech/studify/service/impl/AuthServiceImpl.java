@@ -11,8 +11,10 @@ import com.edutech.studify.dto.util.DtoMapper;
 import com.edutech.studify.entity.Role;
 import com.edutech.studify.entity.User;
 import com.edutech.studify.exception.*;
+import com.edutech.studify.monitoring.BusinessMetrics;
 import com.edutech.studify.repository.UserRepository;
 import com.edutech.studify.security.JwtUtils;
+import com.edutech.studify.security.TokenRevocationRegistry;
 import com.edutech.studify.service.AuthService;
 import com.edutech.studify.service.RefreshTokenService;
 import com.edutech.studify.util.SecurityUtils;
@@ -38,6 +40,8 @@ public class AuthServiceImpl implements AuthService {
     private final SecurityUtils securityUtils;
     private final DtoMapper dtoMapper;
     private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final BusinessMetrics businessMetrics;
 
     @Override
     @Transactional
@@ -80,6 +84,7 @@ public class AuthServiceImpl implements AuthService {
             );
         } catch (AuthenticationException e) {
             log.warn("Failed login attempt for email: {}", request.getEmail());
+            businessMetrics.loginFailed();
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
@@ -91,6 +96,7 @@ public class AuthServiceImpl implements AuthService {
         String refreshToken = refreshTokenService.createRefreshToken(user, request.isTerminateOtherSessions());
 
         log.info("User logged in: {}", user.getEmail());
+        businessMetrics.loginSucceeded();
 
         return AuthResponse.builder()
                 .token(accessToken)
@@ -108,7 +114,7 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         User user = refreshTokenService.validateAndConsume(request.getRefreshToken());
 
-        String newAccessToken = jwtUtils.generateTokenFromUsername(user.getEmail());
+        String newAccessToken = jwtUtils.generateToken(user.getId(), user.getEmail());
         String newRefreshToken = refreshTokenService.createRefreshToken(user,false);
 
         log.info("Access token refreshed for user: {}", user.getEmail());
@@ -147,8 +153,9 @@ public class AuthServiceImpl implements AuthService {
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
 
-        // A refresh token issued before this change shouldn't survive it.
+        // Neither a refresh token nor an access token issued before this change should survive it.
         refreshTokenService.revokeAllUserTokens(user);
+        tokenRevocationRegistry.revokeAllIssuedBefore(user.getId());
 
         log.info("Password changed for user: {}", user.getEmail());
     }
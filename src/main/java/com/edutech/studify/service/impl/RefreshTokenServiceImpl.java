@@ -4,16 +4,21 @@ import com.edutech.studify.entity.RefreshToken;
 import com.edutech.studify.entity.User;
 import com.edutech.studify.exception.TokenRefreshException;
 import com.edutech.studify.repository.RefreshTokenRepository;
+import com.edutech.studify.security.RefreshTokenHashIndex;
 import com.edutech.studify.service.RefreshTokenService;
 import com.edutech.studify.util.TokenHashUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
@@ -22,6 +27,9 @@ import java.util.UUID;
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenHashIndex refreshTokenHashIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.jwt.refresh-token.expiration-ms}")
     private long refreshTokenExpirationMs;
@@ -29,6 +37,12 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
     @Value("${app.jwt.refresh-token.max-active-sessions:3}")
     private int maxActiveSessions;
 
+    @Value("${app.jwt.refresh-token.purge.chunk-size:1000}")
+    private long purgeChunkSize;
+
+    @Value("${app.jwt.refresh-token.purge.pause-ms:100}")
+    private long purgePauseMs;
+
     @Override
     @Transactional
     public String createRefreshToken(User user, boolean terminateOtherSessions) {
@@ -38,43 +52,48 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             enforceSessionLimit(user);
         }
 
-        String rawToken = UUID.randomUUID().toString();
+        UUID rawToken = UUID.randomUUID();
+        String tokenHash = TokenHashUtils.sha256(rawToken);
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
-                .tokenHash(TokenHashUtils.sha256(rawToken))
+                .tokenHash(tokenHash)
                 .expiryDate(Instant.now().plusMillis(refreshTokenExpirationMs))
                 .revoked(false)
                 .build();
 
         refreshTokenRepository.save(refreshToken);
+        refreshTokenHashIndex.add(tokenHash);
 
-        return rawToken;
+        return rawToken.toString();
     }
 
     private void enforceSessionLimit(User user) {
-        List<RefreshToken> activeSessions = refreshTokenRepository.findActiveSessionsByUser(user, Instant.now());
-
-        int sessionsToEvict = activeSessions.size() - maxActiveSessions + 1;
-        if (sessionsToEvict <= 0) {
-            return;
-        }
+        // Keep the newest (limit - 1) sessions to leave room for the one being created.
+        int evicted = refreshTokenRepository.revokeSessionsBeyondNewest(
+                user.getId(), Math.max(maxActiveSessions - 1, 0), Instant.now());
 
-        for (int i = 0; i < sessionsToEvict; i++) {
-            RefreshToken oldest = activeSessions.get(i);
-            oldest.setRevoked(true);
-            refreshTokenRepository.save(oldest);
+        if (evicted > 0) {
+            log.info("User {} hit the {}-session limit - evicted {} oldest session(s).",
+                    user.getEmail(), maxActiveSessions, evicted);
         }
-
-        log.info("User {} hit the {}-session limit - evicted {} oldest session(s).",
-                user.getEmail(), maxActiveSessions, sessionsToEvict);
     }
 
     @Override
     @Transactional(noRollbackFor = TokenRefreshException.class)
     public User validateAndConsume(String rawToken) {
         String tokenHash = TokenHashUtils.sha256(rawToken);
+        if (!refreshTokenHashIndex.mightExist(tokenHash)) {
+            throw new TokenRefreshException("Refresh token not recognized. Please login again.");
+        }
+
+        // Fast path: one UPDATE ... RETURNING for the common case of a live token.
+        Optional<User> owner = refreshTokenRepository.consumeActiveToken(tokenHash, Instant.now());
+        if (owner.isPresent()) {
+            return owner.get();
+        }
 
+        // Slow path - only reached for unknown, reused or expired tokens.
         RefreshToken storedToken = refreshTokenRepository.findByTokenHash(tokenHash)
                 .orElseThrow(() -> new TokenRefreshException("Refresh token not recognized. Please login again."));
 
@@ -96,21 +115,16 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
             throw new TokenRefreshException("Refresh token has expired. Please login again.");
         }
 
-        storedToken.setRevoked(true);
-        refreshTokenRepository.save(storedToken);
-
-        return storedToken.getUser();
+        // Live yet not consumed - only possible if it expired between the two statements.
+        throw new TokenRefreshException("Refresh token has expired. Please login again.");
     }
 
     @Override
     @Transactional
     public void revokeToken(String rawToken) {
-        String tokenHash = TokenHashUtils.sha256(rawToken);
-        refreshTokenRepository.findByTokenHash(tokenHash)
-                .ifPresent(rt -> {
-                    rt.setRevoked(true);
-                    refreshTokenRepository.save(rt);
-                });
+        // Not gated on the hash index: one indexed UPDATE, and a false
+        // negative here would leave the token live after a "successful" logout
+        refreshTokenRepository.revokeByTokenHash(TokenHashUtils.sha256(rawToken));
     }
 
     @Override
@@ -121,10 +135,65 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
 
     }
 
+    /**
+     * Walks the table in id ranges of purge.chunk-size, each range deleted in
+     * its own short transaction with purge.pause-ms between non-empty chunks,
+     * so the nightly cleanup never holds long locks or floods the WAL.
+     */
     @Override
-    @Transactional
     public void purgeStaleTokens() {
-        int deleted = refreshTokenRepository.deleteStaleTokens(Instant.now());
-        log.info("Refresh token cleanup: removed {} stale token(s).", deleted);
+        Instant now = Instant.now();
+        Long firstStaleId = refreshTokenRepository.findMinStaleTokenId(now).orElse(null);
+        Long lastId = refreshTokenRepository.findMaxTokenId().orElse(null);
+        if (firstStaleId == null || lastId == null) {
+            log.info("Refresh token cleanup: nothing to remove.");
+            return;
+        }
+
+        DistributionSummary rowsPerChunk = DistributionSummary.builder("studify.refresh.token.purge.chunk.rows")
+                .description("Refresh tokens deleted per purge chunk")
+                .register(meterRegistry);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        long deleted = 0;
+        int chunks = 0;
+        for (long afterId = firstStaleId - 1; afterId < lastId; afterId += purgeChunkSize) {
+            long rangeStart = afterId;
+            long upToId = Math.min(afterId + purgeChunkSize, lastId);
+            Integer removed = transactionTemplate.execute(status ->
+                    refreshTokenRepository.deleteStaleTokensInRange(rangeStart, upToId, now));
+            int chunkRows = removed == null ? 0 : removed;
+            chunks++;
+            if (chunkRows == 0) {
+                continue;
+            }
+            rowsPerChunk.record(chunkRows);
+            deleted += chunkRows;
+
+            if (purgePauseMs > 0 && upToId < lastId && !pause()) {
+                log.warn("Refresh token cleanup interrupted after {} chunk(s).", chunks);
+                break;
+            }
+        }
+
+        long elapsedNanos = sample.stop(Timer.builder("studify.refresh.token.purge.duration")
+                .description("Wall-clock time of a full refresh token purge run")
+                .register(meterRegistry));
+        log.info("Refresh token cleanup: removed {} stale token(s) in {} chunk(s), {} ms.",
+                deleted, chunks, elapsedNanos / 1_000_000);
+
+        if (deleted > 0) {
+            refreshTokenHashIndex.rebuild();
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(purgePauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.edutech.studify.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.CacheControl;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Weak ETags for read endpoints. A repository "version" query selects the ids,
+ * updatedAt stamps and counts a response is built from, and the tag is a hash
+ * of those values - so If-None-Match can be answered with one scalar query,
+ * without loading the entities. The tags are weak because two otherwise equal
+ * bodies still differ in ApiResponse.timestamp.
+ */
+@UtilityClass
+public class ETagUtils {
+
+    /**
+     * Responses are per user (they sit behind authentication), so shared caches
+     * must not keep them; clients may keep them but have to revalidate.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /** Empty when the version query found nothing, i.e. the resource does not exist. */
+    public Optional<String> weakETag(List<Object[]> versionRows) {
+        return versionRows.isEmpty() ? Optional.empty() : Optional.of(weakCollectionETag(versionRows));
+    }
+
+    /** A list always has a version, including the empty one. */
+    public String weakCollectionETag(List<Object[]> versionRows) {
+        StringBuilder version = new StringBuilder();
+        for (Object[] row : versionRows) {
+            for (Object value : row) {
+                version.append(value).append('|');
+            }
+            version.append('\n');
+        }
+        return "W/\"" + TokenHashUtils.sha256(version.toString()) + "\"";
+    }
+}
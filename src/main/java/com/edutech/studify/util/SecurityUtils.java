@@ -5,9 +5,13 @@ import com.edutech.studify.entity.User;
 import com.edutech.studify.exception.ForbiddenException;
 import com.edutech.studify.exception.UnauthorizedException;
 import com.edutech.studify.repository.UserRepository;
+import com.edutech.studify.security.UserDetailsImpl;
+import com.edutech.studify.security.UserProfile;
+import com.edutech.studify.security.UserProfileCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
@@ -18,7 +22,10 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SecurityUtils {
 
+    private static final String ROLE_PREFIX = "ROLE_";
+
     private final UserRepository userRepository;
+    private final UserProfileCache userProfileCache;
 
     /**
      * Get current authenticated user
@@ -40,9 +47,41 @@ public class SecurityUtils {
      * Get current user ID
      */
     public Long getCurrentUserId() {
+        if (currentPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getId();
+        }
         return getCurrentUser().getId();
     }
 
+    /**
+     * Get the current user's cached profile: linked student or teacher,
+     * department and taught courses
+     */
+    public UserProfile getCurrentProfile() {
+        return userProfileCache.get(getCurrentUserId(), getCurrentUserRole());
+    }
+
+    /**
+     * Get the current user's student ID, or null if they are not a student
+     */
+    public Long getCurrentStudentId() {
+        return getCurrentProfile().getStudentId();
+    }
+
+    /**
+     * Get the current user's teacher ID, or null if they are not a teacher
+     */
+    public Long getCurrentTeacherId() {
+        return getCurrentProfile().getTeacherId();
+    }
+
+    /**
+     * Check if the current user teaches the course
+     */
+    public boolean teachesCourse(Long courseId) {
+        return getCurrentProfile().teaches(courseId);
+    }
+
     /**
      * Get current username
      */
@@ -52,9 +91,17 @@ public class SecurityUtils {
     }
 
     /**
-     * Get current user role
+     * Get current user role. The JWT filter loads the user on every request,
+     * so the granted authority is as current as the users row.
      */
     public Role getCurrentUserRole() {
+        if (currentPrincipal() instanceof UserDetailsImpl userDetails) {
+            for (GrantedAuthority authority : userDetails.getAuthorities()) {
+                if (authority.getAuthority().startsWith(ROLE_PREFIX)) {
+                    return Role.valueOf(authority.getAuthority().substring(ROLE_PREFIX.length()));
+                }
+            }
+        }
         return getCurrentUser().getRole();
     }
 
@@ -91,16 +138,16 @@ public class SecurityUtils {
      * Students can only access their own resources
      */
     public void verifyStudentAccess(Long studentUserId) {
-        User currentUser = getCurrentUser();
+        Role role = getCurrentUserRole();
 
         // Admin and Teacher can access any student
-        if (currentUser.getRole() == Role.ADMIN || currentUser.getRole() == Role.TEACHER) {
+        if (role == Role.ADMIN || role == Role.TEACHER) {
             return;
         }
 
         // Student can only access their own data
-        if (currentUser.getRole() == Role.STUDENT) {
-            if (!currentUser.getId().equals(studentUserId)) {
+        if (role == Role.STUDENT) {
+            if (!getCurrentUserId().equals(studentUserId)) {
                 throw new ForbiddenException("You can only access your own data");
             }
         }
@@ -120,19 +167,16 @@ public class SecurityUtils {
      * Verify teacher has permission to access their courses
      */
     public void verifyTeacherCourseAccess(Long teacherId) {
-        User currentUser = getCurrentUser();
+        Role role = getCurrentUserRole();
 
         // Admin can access any teacher's courses
-        if (currentUser.getRole() == Role.ADMIN) {
+        if (role == Role.ADMIN) {
             return;
         }
 
         // Teacher can only access their own courses
-        if (currentUser.getRole() == Role.TEACHER) {
-            // Compare teacher entity ID with current user's teacher ID
-            // This will be implemented when we have Teacher service
-            Long currentTeacherId = getCurrentUser().getTeacher().getId();
-            if (!currentTeacherId.equals(teacherId)) {
+        if (role == Role.TEACHER) {
+            if (!teacherId.equals(getCurrentTeacherId())) {
                 throw new ForbiddenException("You can only access your own courses");
             }
         } else {
@@ -140,6 +184,11 @@ public class SecurityUtils {
         }
     }
 
+    private Object currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getPrincipal() : null;
+    }
+
     public boolean isCurrentUserAdmin() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
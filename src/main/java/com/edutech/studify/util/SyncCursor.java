@@ -0,0 +1,110 @@
+package com.edutech.studify.util;
+
+import com.edutech.studify.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Where a paged delta sync stands, handed to the client as an opaque
+ * continuation token. Every page of one sync reads the same (from, until]
+ * window, so rows changed while the client is paging fall after until and
+ * are picked up by the next sync. Each collection is read in (updatedAt, id)
+ * order from its own position; a collection whose page came back short is
+ * done and has no position.
+ */
+public final class SyncCursor {
+
+    public enum Collection { COURSES, ENROLLMENTS, GRADES, ATTENDANCE }
+
+    /** A collection's last delivered row; the next page starts after it. */
+    public record Position(LocalDateTime updatedAt, long id) {
+
+        // Sorts before every row, including newly visible ones older than the window
+        static final Position BEGINNING = new Position(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+    }
+
+    private static final String SEPARATOR = "|";
+    private static final String DONE = "";
+
+    private final LocalDateTime from;
+    private final LocalDateTime until;
+    private final Map<Collection, Position> positions;
+    private final boolean firstPage;
+
+    private SyncCursor(LocalDateTime from, LocalDateTime until, Map<Collection, Position> positions, boolean firstPage) {
+        this.from = from;
+        this.until = until;
+        this.positions = positions;
+        this.firstPage = firstPage;
+    }
+
+    public static SyncCursor start(LocalDateTime from, LocalDateTime until) {
+        Map<Collection, Position> positions = new EnumMap<>(Collection.class);
+        for (Collection collection : Collection.values()) {
+            positions.put(collection, Position.BEGINNING);
+        }
+        return new SyncCursor(from, until, positions, true);
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public boolean isFirstPage() {
+        return firstPage;
+    }
+
+    /** Null once the collection is done. */
+    public Position position(Collection collection) {
+        return positions.get(collection);
+    }
+
+    /** The cursor after this page; collections missing from {@code next} are done. */
+    public SyncCursor advance(EnumMap<Collection, Position> next) {
+        return new SyncCursor(from, until, next, false);
+    }
+
+    public boolean isComplete() {
+        return positions.isEmpty();
+    }
+
+    public String encode() {
+        StringBuilder token = new StringBuilder().append(from).append(SEPARATOR).append(until);
+        for (Collection collection : Collection.values()) {
+            Position position = positions.get(collection);
+            token.append(SEPARATOR).append(position == null ? DONE : position.updatedAt() + "," + position.id());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\|", -1);
+            if (parts.length != 2 + Collection.values().length) {
+                throw new BadRequestException("Invalid sync continuation token");
+            }
+            Map<Collection, Position> positions = new EnumMap<>(Collection.class);
+            for (Collection collection : Collection.values()) {
+                String position = parts[2 + collection.ordinal()];
+                if (!DONE.equals(position)) {
+                    int comma = position.indexOf(',');
+                    positions.put(collection, new Position(LocalDateTime.parse(position.substring(0, comma)),
+                            Long.parseLong(position.substring(comma + 1))));
+                }
+            }
+            return new SyncCursor(LocalDateTime.parse(parts[0]), LocalDateTime.parse(parts[1]), positions, false);
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid sync continuation token", e);
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.edutech.studify.util;
 import lombok.experimental.UtilityClass;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
+import java.util.UUID;
 
 /**
  * Hashes opaque tokens before persistence - same "never store secrets in
@@ -13,17 +15,101 @@ import java.util.Base64;
  * (not BCrypt) is used deliberately: a refresh token is already high-entropy
  * random data, not a human-chosen password, so we don't need BCrypt's slow,
  * salted hashing - just a fast, deterministic hash for equality lookup.
+ *
+ * Every refresh, login and logout hashes a token, so the digest and its
+ * buffers are kept per thread instead of being looked up and allocated on
+ * each call; the only allocation left is the resulting String.
  */
 @UtilityClass
 public class TokenHashUtils {
 
+    /** Base64 of a 32-byte SHA-256 digest is always 44 ASCII characters. */
+    public static final int HASH_LENGTH = 44;
+
+    private static final int DIGEST_LENGTH = 32;
+    private static final int UUID_LENGTH = 36;
+    // Longer or non-ASCII input is not a token we issued; it takes the plain path.
+    private static final int MAX_BUFFERED_LENGTH = 64;
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<HashState> STATE = ThreadLocal.withInitial(HashState::new);
+
+    /**
+     * Same hash as {@code sha256(token.toString())}, without building the
+     * string: the canonical form is written straight from the UUID's bits.
+     */
+    public String sha256(UUID token) {
+        HashState state = STATE.get();
+        writeHex(state.input, 0, token.getMostSignificantBits() >>> 32, 8);
+        state.input[8] = '-';
+        writeHex(state.input, 9, token.getMostSignificantBits() >>> 16, 4);
+        state.input[13] = '-';
+        writeHex(state.input, 14, token.getMostSignificantBits(), 4);
+        state.input[18] = '-';
+        writeHex(state.input, 19, token.getLeastSignificantBits() >>> 48, 4);
+        state.input[23] = '-';
+        writeHex(state.input, 24, token.getLeastSignificantBits(), 12);
+        return state.hash(UUID_LENGTH);
+    }
+
     public String sha256(String rawValue) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(rawValue.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 algorithm not available on this JVM", e);
+        HashState state = STATE.get();
+        int length = rawValue.length();
+        if (length <= MAX_BUFFERED_LENGTH && copyAscii(rawValue, state.input)) {
+            return state.hash(length);
+        }
+        state.digest.update(rawValue.getBytes(StandardCharsets.UTF_8));
+        return state.finish();
+    }
+
+    private static boolean copyAscii(String value, byte[] target) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return false;
+            }
+            target[i] = (byte) c;
+        }
+        return true;
+    }
+
+    // Writes the low (digits * 4) bits of value as lowercase hex, most significant first.
+    private static void writeHex(byte[] target, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            target[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static final class HashState {
+
+        private final MessageDigest digest;
+        private final byte[] input = new byte[MAX_BUFFERED_LENGTH];
+        private final byte[] hash = new byte[DIGEST_LENGTH];
+        private final byte[] encoded = new byte[HASH_LENGTH];
+
+        private HashState() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 algorithm not available on this JVM", e);
+            }
+        }
+
+        private String hash(int length) {
+            digest.update(input, 0, length);
+            return finish();
+        }
+
+        private String finish() {
+            try {
+                digest.digest(hash, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                digest.reset();
+                throw new IllegalStateException("SHA-256 digest failed", e);
+            }
+            Base64.getEncoder().encode(hash, encoded);
+            return new String(encoded, StandardCharsets.ISO_8859_1);
         }
     }
-}
\ No newline at end of file
+}
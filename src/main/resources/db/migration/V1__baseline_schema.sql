@@ -0,0 +1,159 @@
+-- Baseline: the schema Hibernate's ddl-auto used to create from the entities.
+-- Databases created that way are baselined at this version instead of
+-- running it (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    email       VARCHAR(100) NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    role        VARCHAR(20)  NOT NULL CHECK (role IN ('ADMIN', 'TEACHER', 'STUDENT')),
+    is_active   BOOLEAN,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    created_by  VARCHAR(50),
+    updated_by  VARCHAR(50)
+);
+
+CREATE TABLE departments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL UNIQUE,
+    code        VARCHAR(10)  NOT NULL UNIQUE,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    created_by  VARCHAR(50),
+    updated_by  VARCHAR(50)
+);
+
+CREATE TABLE teachers (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT       NOT NULL UNIQUE REFERENCES users,
+    first_name      VARCHAR(50)  NOT NULL,
+    last_name       VARCHAR(50)  NOT NULL,
+    email           VARCHAR(100) NOT NULL UNIQUE,
+    phone           VARCHAR(15)  NOT NULL,
+    specialization  VARCHAR(100),
+    department_id   BIGINT REFERENCES departments,
+    deleted         BOOLEAN      NOT NULL,
+    deleted_at      TIMESTAMP(6),
+    deleted_by      VARCHAR(50),
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    created_by      VARCHAR(50),
+    updated_by      VARCHAR(50)
+);
+
+CREATE TABLE students (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT       NOT NULL UNIQUE REFERENCES users,
+    first_name       VARCHAR(50)  NOT NULL,
+    last_name        VARCHAR(50)  NOT NULL,
+    email            VARCHAR(100) NOT NULL UNIQUE,
+    phone            VARCHAR(15)  NOT NULL,
+    date_of_birth    DATE         NOT NULL,
+    address          TEXT,
+    enrollment_date  DATE         NOT NULL,
+    status           VARCHAR(20) CHECK (status IN ('ACTIVE', 'INACTIVE', 'GRADUATED')),
+    department_id    BIGINT REFERENCES departments,
+    deleted          BOOLEAN      NOT NULL,
+    deleted_at       TIMESTAMP(6),
+    deleted_by       VARCHAR(50),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    created_by       VARCHAR(50),
+    updated_by       VARCHAR(50)
+);
+
+CREATE TABLE courses (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_code    VARCHAR(10)  NOT NULL UNIQUE,
+    name           VARCHAR(100) NOT NULL,
+    description    TEXT,
+    credits        INTEGER      NOT NULL CHECK (credits BETWEEN 1 AND 6),
+    semester       VARCHAR(20)  NOT NULL,
+    max_capacity   INTEGER      NOT NULL CHECK (max_capacity BETWEEN 10 AND 200),
+    department_id  BIGINT       NOT NULL REFERENCES departments,
+    teacher_id     BIGINT REFERENCES teachers,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    created_by     VARCHAR(50),
+    updated_by     VARCHAR(50)
+);
+
+CREATE TABLE enrollments (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id       BIGINT       NOT NULL REFERENCES students,
+    course_id        BIGINT       NOT NULL REFERENCES courses,
+    enrollment_date  DATE         NOT NULL,
+    status           VARCHAR(20) CHECK (status IN ('ACTIVE', 'DROPPED')),
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    created_by       VARCHAR(50),
+    updated_by       VARCHAR(50),
+    UNIQUE (student_id, course_id)
+);
+
+CREATE TABLE grades (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    enrollment_id  BIGINT       NOT NULL UNIQUE REFERENCES enrollments,
+    grade          VARCHAR(5)   NOT NULL,
+    grade_point    NUMERIC(3, 2),
+    remarks        TEXT,
+    graded_date    DATE         NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    created_by     VARCHAR(50),
+    updated_by     VARCHAR(50)
+);
+
+CREATE TABLE attendance (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    enrollment_id  BIGINT       NOT NULL REFERENCES enrollments,
+    date           DATE         NOT NULL,
+    status         VARCHAR(20)  NOT NULL CHECK (status IN ('PRESENT', 'ABSENT', 'LATE')),
+    created_at     TIMESTAMP(6) NOT NULL,
+    updated_at     TIMESTAMP(6) NOT NULL,
+    created_by     VARCHAR(50),
+    updated_by     VARCHAR(50),
+    UNIQUE (enrollment_id, date)
+);
+
+CREATE TABLE refresh_tokens (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash   VARCHAR(100)             NOT NULL UNIQUE,
+    user_id      BIGINT                   NOT NULL REFERENCES users,
+    expiry_date  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked      BOOLEAN                  NOT NULL,
+    created_at   TIMESTAMP(6)             NOT NULL,
+    updated_at   TIMESTAMP(6)             NOT NULL,
+    created_by   VARCHAR(50),
+    updated_by   VARCHAR(50)
+);
+
+CREATE TABLE token_revocations (
+    user_id         BIGINT                   PRIMARY KEY,
+    revoked_before  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at      TIMESTAMP(6)             NOT NULL,
+    updated_at      TIMESTAMP(6)             NOT NULL,
+    created_by      VARCHAR(50),
+    updated_by      VARCHAR(50)
+);
+
+-- Indexes declared on the entities
+CREATE INDEX idx_teacher_email ON teachers (email);
+CREATE INDEX idx_teacher_department ON teachers (department_id);
+CREATE INDEX idx_student_email ON students (email);
+CREATE INDEX idx_student_status ON students (status);
+CREATE INDEX idx_student_department ON students (department_id);
+CREATE INDEX idx_course_code ON courses (course_code);
+CREATE INDEX idx_course_department ON courses (department_id);
+CREATE INDEX idx_course_teacher ON courses (teacher_id);
+CREATE INDEX idx_course_semester ON courses (semester);
+CREATE INDEX idx_enrollment_student ON enrollments (student_id);
+CREATE INDEX idx_enrollment_course ON enrollments (course_id);
+CREATE INDEX idx_enrollment_status ON enrollments (status);
+CREATE INDEX idx_grade_enrollment ON grades (enrollment_id);
+CREATE INDEX idx_attendance_enrollment ON attendance (enrollment_id);
+CREATE INDEX idx_attendance_date ON attendance (date);
+CREATE INDEX idx_refresh_token_expiry ON refresh_tokens (expiry_date);
+CREATE INDEX idx_token_revocation_revoked_before ON token_revocations (revoked_before);
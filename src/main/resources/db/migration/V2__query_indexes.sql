@@ -0,0 +1,36 @@
+-- Indexes for the hot query paths, several of which the entity annotations
+-- cannot express. Built CONCURRENTLY so existing databases keep taking writes;
+-- that needs autocommit, see V2__query_indexes.sql.conf.
+
+-- findActiveEnrollmentsByCourseId, countByCourseIdAndStatus, findByCourseIdAndStatus.
+-- Supersedes the single-column course_id index.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_enrollment_course_status
+    ON enrollments (course_id, status);
+DROP INDEX CONCURRENTLY IF EXISTS idx_enrollment_course;
+
+-- findActiveEnrollmentsByStudentId, countByStudentIdAndStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_enrollment_student_status
+    ON enrollments (student_id, status);
+
+-- Student and Teacher carry @SQLRestriction("deleted = false"), so every
+-- listing filters on it; soft-deleted rows are left out of these indexes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_student_active_department
+    ON students (department_id)
+    WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_student_active_status
+    ON students (status)
+    WHERE deleted = false;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_teacher_active_department
+    ON teachers (department_id)
+    WHERE deleted = false;
+
+-- Session cap and logout-everywhere: the user's live refresh tokens.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_user_active
+    ON refresh_tokens (user_id, expiry_date)
+    WHERE revoked = false;
+
+-- The "revoked = true" half of the refresh token purge predicate; the expiry
+-- half is covered by idx_refresh_token_expiry.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refresh_token_revoked
+    ON refresh_tokens (id)
+    WHERE revoked = true;
@@ -0,0 +1,20 @@
+-- Delta sync (GET /api/v1/sync) reads each table by updated_at, and the
+-- soft-deleted students and teachers by deleted_at. Built CONCURRENTLY like
+-- V2; see V3__sync_indexes.sql.conf.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_course_updated_at
+    ON courses (updated_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_enrollment_updated_at
+    ON enrollments (updated_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_grade_updated_at
+    ON grades (updated_at);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_updated_at
+    ON attendance (updated_at);
+
+-- Tombstones: only soft-deleted rows have a deleted_at worth indexing
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_student_deleted_at
+    ON students (deleted_at)
+    WHERE deleted = true;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_teacher_deleted_at
+    ON teachers (deleted_at)
+    WHERE deleted = true;
@@ -0,0 +1,20 @@
+-- Idempotency-Key store: one row per (user, key). While the first request is
+-- running the row has no response and expires_at is a short lease; once it
+-- completes, the stored response is kept until expires_at = now + TTL.
+
+CREATE TABLE idempotency_keys (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id          BIGINT       NOT NULL,
+    idempotency_key  VARCHAR(100) NOT NULL,
+    request_hash     VARCHAR(64)  NOT NULL,
+    response_status  INTEGER,
+    response_body    TEXT,
+    expires_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    updated_at       TIMESTAMP(6) NOT NULL,
+    created_by       VARCHAR(50),
+    updated_by       VARCHAR(50),
+    CONSTRAINT uk_idempotency_key_user_key UNIQUE (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,21 @@
+-- Transactional outbox: change events written in the same transaction as the
+-- domain change, delivered to downstream sinks by OutboxRelay in id order.
+
+CREATE TABLE outbox_events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type  VARCHAR(50)  NOT NULL,
+    aggregate_id    BIGINT       NOT NULL,
+    event_type      VARCHAR(50)  NOT NULL,
+    payload         TEXT         NOT NULL,
+    published_at    TIMESTAMP(6) WITH TIME ZONE,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    created_by      VARCHAR(50),
+    updated_by      VARCHAR(50)
+);
+
+-- The relay's queue: only undelivered events, in id order
+CREATE INDEX idx_outbox_event_pending ON outbox_events (id) WHERE published_at IS NULL;
+
+-- Retention purge of delivered events
+CREATE INDEX idx_outbox_event_published_at ON outbox_events (published_at);
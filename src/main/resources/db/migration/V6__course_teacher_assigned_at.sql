@@ -0,0 +1,6 @@
+-- When the course's current teacher was assigned. Delta sync uses it to send a
+-- newly assigned teacher the course's existing enrollments, grades and
+-- attendance, whose updated_at is older than the teacher's sync mark.
+-- Existing assignments predate every mark, so the column starts out null.
+
+ALTER TABLE courses ADD COLUMN teacher_assigned_at TIMESTAMP(6);
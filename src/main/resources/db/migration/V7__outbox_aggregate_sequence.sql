@@ -0,0 +1,28 @@
+-- Per-aggregate sequence numbers for outbox events. Identity ids are assigned
+-- at insert, not at commit, so id order is not commit order across
+-- transactions; consumers check aggregate_sequence instead. The counter row is
+-- upserted before each event insert, and its row lock is held until commit, so
+-- writers of the same aggregate take sequence numbers one transaction at a
+-- time. Counters outlive the retention purge of delivered events.
+
+CREATE TABLE outbox_aggregate_sequences (
+    aggregate_type  VARCHAR(50) NOT NULL,
+    aggregate_id    BIGINT      NOT NULL,
+    last_sequence   BIGINT      NOT NULL,
+    PRIMARY KEY (aggregate_type, aggregate_id)
+);
+
+ALTER TABLE outbox_events ADD COLUMN aggregate_sequence BIGINT;
+
+UPDATE outbox_events e
+SET aggregate_sequence = numbered.sequence
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY aggregate_type, aggregate_id ORDER BY id) AS sequence
+      FROM outbox_events) numbered
+WHERE e.id = numbered.id;
+
+INSERT INTO outbox_aggregate_sequences (aggregate_type, aggregate_id, last_sequence)
+SELECT aggregate_type, aggregate_id, MAX(aggregate_sequence)
+FROM outbox_events
+GROUP BY aggregate_type, aggregate_id;
+
+ALTER TABLE outbox_events ALTER COLUMN aggregate_sequence SET NOT NULL;
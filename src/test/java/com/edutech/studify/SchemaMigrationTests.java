@@ -0,0 +1,50 @@
+package com.edutech.studify;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates an empty schema from scratch and starts the application against it
+ * with ddl-auto=validate, so the context only loads when the entities and the
+ * migrations agree on every table and column.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:5432/studify_db?currentSchema=" + SchemaMigrationTests.SCHEMA,
+        "spring.flyway.schemas=" + SchemaMigrationTests.SCHEMA,
+        "spring.flyway.clean-disabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.default_schema=" + SchemaMigrationTests.SCHEMA
+})
+class SchemaMigrationTests {
+
+    static final String SCHEMA = "schema_migration_test";
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void entitiesMatchMigratedSchema() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion())
+                .isEqualTo(flyway.info().all()[flyway.info().all().length - 1].getVersion().getVersion());
+    }
+
+    @TestConfiguration
+    static class CleanMigrateConfig {
+
+        @Bean
+        FlywayMigrationStrategy cleanMigrate() {
+            return flyway -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+    }
+}
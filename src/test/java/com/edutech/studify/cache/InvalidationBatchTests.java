@@ -0,0 +1,92 @@
+package com.edutech.studify.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBatchTests {
+
+    private static final String NODE_ID = "a1b2c3d4";
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+
+    @Test
+    void payloadRoundTrips() {
+        InvalidationBatch batch = new InvalidationBatch();
+        batch.add("Course", 1L, 100);
+        batch.add("Course", 2L, 100);
+        batch.add("Teacher", 7L, 100);
+        batch.addAll("Department");
+
+        List<String> payloads = batch.toPayloads(NODE_ID, MAX_PAYLOAD_LENGTH);
+
+        assertThat(payloads).containsExactly(NODE_ID + ";Department:*;Course:1,2;Teacher:7");
+        Map.Entry<String, InvalidationBatch> parsed = InvalidationBatch.parse(payloads.get(0));
+        assertThat(parsed.getKey()).isEqualTo(NODE_ID);
+        assertThat(parsed.getValue().getIdsByEntity()).isEqualTo(batch.getIdsByEntity());
+        assertThat(parsed.getValue().getWholeEntities()).isEqualTo(batch.getWholeEntities());
+    }
+
+    @Test
+    void oversizeBatchIsSplitBelowNotifyLimit() {
+        InvalidationBatch batch = new InvalidationBatch();
+        for (long id = 1_000_000_000L; id < 1_000_003_000L; id++) {
+            batch.add("Course", id, Integer.MAX_VALUE);
+            batch.add("Teacher", id, Integer.MAX_VALUE);
+        }
+        batch.addAll("Department");
+
+        List<String> payloads = batch.toPayloads(NODE_ID, MAX_PAYLOAD_LENGTH);
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        Set<Long> courses = new HashSet<>();
+        Set<Long> teachers = new HashSet<>();
+        Set<String> wholeEntities = new HashSet<>();
+        for (String payload : payloads) {
+            assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(MAX_PAYLOAD_LENGTH);
+            Map.Entry<String, InvalidationBatch> parsed = InvalidationBatch.parse(payload);
+            assertThat(parsed.getKey()).isEqualTo(NODE_ID);
+            courses.addAll(parsed.getValue().getIdsByEntity().getOrDefault("Course", Set.of()));
+            teachers.addAll(parsed.getValue().getIdsByEntity().getOrDefault("Teacher", Set.of()));
+            wholeEntities.addAll(parsed.getValue().getWholeEntities());
+        }
+        assertThat(courses).isEqualTo(batch.getIdsByEntity().get("Course"));
+        assertThat(teachers).isEqualTo(batch.getIdsByEntity().get("Teacher"));
+        assertThat(wholeEntities).containsExactly("Department");
+    }
+
+    @Test
+    void entityPastIdLimitCollapsesToWildcard() {
+        InvalidationBatch batch = new InvalidationBatch();
+        for (long id = 1; id <= 4; id++) {
+            batch.add("Course", id, 3);
+        }
+        batch.add("Course", 5L, 3);
+        batch.add("Teacher", 1L, 3);
+
+        assertThat(batch.getWholeEntities()).containsExactly("Course");
+        assertThat(batch.getIdsByEntity()).containsOnlyKeys("Teacher");
+        assertThat(batch.toPayloads(NODE_ID, MAX_PAYLOAD_LENGTH))
+                .containsExactly(NODE_ID + ";Course:*;Teacher:1");
+    }
+
+    @Test
+    void changeWithoutIdEvictsWholeEntity() {
+        InvalidationBatch batch = new InvalidationBatch();
+        batch.add("Course", 1L, 100);
+        batch.add("Course", null, 100);
+
+        assertThat(batch.getWholeEntities()).containsExactly("Course");
+        assertThat(batch.getIdsByEntity()).isEmpty();
+    }
+
+    @Test
+    void emptyBatchHasNoPayloads() {
+        assertThat(new InvalidationBatch().toPayloads(NODE_ID, MAX_PAYLOAD_LENGTH)).isEmpty();
+    }
+}
@@ -0,0 +1,126 @@
+package com.edutech.studify.monitoring;
+
+import com.edutech.studify.entity.Role;
+import com.edutech.studify.entity.User;
+import com.edutech.studify.exception.SqlBudgetExceededException;
+import com.edutech.studify.repository.DepartmentRepository;
+import com.edutech.studify.repository.RefreshTokenRepository;
+import com.edutech.studify.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * With fail-on-exceed, a request over its SQL budget must fail rather than
+ * reach the client as a success; one within budget must come through intact.
+ * Every handler here has a budget of 0 except login.
+ */
+@SpringBootTest(properties = {
+        "app.sql-budget.fail-on-exceed=true",
+        "app.sql-budget.default=0",
+        "app.sql-budget.endpoints[AuthController.login]=100",
+        "app.security.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class SqlBudgetFilterTests {
+
+    private static final String EMAIL = "sql-budget-test@test.local";
+    private static final String PASSWORD = "Password1!";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SqlBudgetFilter sqlBudgetFilter;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @BeforeEach
+    void createUser() {
+        cleanUp();
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setUsername("sqlbudgettest");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(Role.ADMIN);
+        user.setIsActive(true);
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.findByEmail(EMAIL).ifPresent(user -> {
+            refreshTokenRepository.deleteByUser(user);
+            userRepository.delete(user);
+        }));
+    }
+
+    @Test
+    void requestWithinBudgetIsPassedThrough() throws Exception {
+        MvcResult result = login();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentAsString()).contains("\"token\"");
+    }
+
+    @Test
+    void requestOverBudgetFails() throws Exception {
+        String token = login().getResponse().getContentAsString().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/v1/departments")
+                .header("Authorization", "Bearer " + token)))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("DepartmentController");
+    }
+
+    @Test
+    void overBudgetResponseIsNotSent() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> sqlBudgetFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/departments"),
+                response, (req, res) -> {
+                    departmentRepository.count();
+                    res.getWriter().write("{\"success\":true}");
+                    res.flushBuffer();
+                }))
+                .isInstanceOf(SqlBudgetExceededException.class);
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MvcResult login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD
+                                + "\",\"terminateOtherSessions\":false}"))
+                .andReturn();
+    }
+}